@@ -0,0 +1,115 @@
+package com.internship.benchmark;
+
+import com.internship.dto.EmployeeDtoInterface;
+import com.internship.entity.Department;
+import com.internship.entity.Employee;
+import com.internship.entity.Expertise;
+import com.internship.entity.Team;
+import com.internship.enums.Degree;
+import com.internship.enums.Gender;
+import com.internship.repository.EmployeeRepository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+// Employees built in memory for the benchmarks, with the shape of the rows the endpoints read.
+final class BenchmarkData {
+    static final LocalDate JOINED_DATE = LocalDate.of(2015, 3, 1);
+    static final BigDecimal GROSS_SALARY = new BigDecimal("12500.00");
+    private static final List<String> EXPERTISES = List.of("Java", "Spring Boot", "MySQL");
+
+    private BenchmarkData() {
+    }
+
+    static Employee employee() {
+        return Employee.builder()
+                .id(1L)
+                .firstName("Ahmed")
+                .lastName("Hassan")
+                .nationalId("29801011234567")
+                .degree(Degree.INTERMEDIATE)
+                .pastExperienceYear(3)
+                .joinedDate(JOINED_DATE)
+                .dateOfBirth(LocalDate.of(1998, 1, 1))
+                .graduationDate(LocalDate.of(2020, 7, 1))
+                .gender(Gender.MALE)
+                .grossSalary(GROSS_SALARY)
+                .department(Department.builder().id(1L).name("Engineering").build())
+                .team(Team.builder().id(1L).name("Backend").build())
+                .manager(Employee.builder().id(2L).build())
+                .expertises(IntStream.range(0, EXPERTISES.size())
+                        .mapToObj(i -> Expertise.builder().id(i + 1L).name(EXPERTISES.get(i)).build())
+                        .toList())
+                .build();
+    }
+
+    static EmployeeDtoInterface employeeRow(Employee employee) {
+        String expertises = employee.getExpertises().stream()
+                .map(Expertise::getName)
+                .collect(Collectors.joining(EmployeeRepository.EXPERTISE_SEPARATOR));
+        return new EmployeeDtoInterface() {
+            public Long getId() {
+                return employee.getId();
+            }
+
+            public String getFirstName() {
+                return employee.getFirstName();
+            }
+
+            public String getLastName() {
+                return employee.getLastName();
+            }
+
+            public String getNationalId() {
+                return employee.getNationalId();
+            }
+
+            public Degree getDegree() {
+                return employee.getDegree();
+            }
+
+            public Integer getPastExperienceYear() {
+                return employee.getPastExperienceYear();
+            }
+
+            public LocalDate getJoinedDate() {
+                return employee.getJoinedDate();
+            }
+
+            public LocalDate getDateOfBirth() {
+                return employee.getDateOfBirth();
+            }
+
+            public LocalDate getGraduationDate() {
+                return employee.getGraduationDate();
+            }
+
+            public Gender getGender() {
+                return employee.getGender();
+            }
+
+            public BigDecimal getGrossSalary() {
+                return employee.getGrossSalary();
+            }
+
+            public Long getDepartmentId() {
+                return employee.getDepartment().getId();
+            }
+
+            public Long getTeamId() {
+                return employee.getTeam().getId();
+            }
+
+            public Long getManagerId() {
+                return employee.getManager().getId();
+            }
+
+            public String getExpertises() {
+                return expertises;
+            }
+        };
+    }
+}
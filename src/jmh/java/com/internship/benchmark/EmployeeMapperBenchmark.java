@@ -0,0 +1,38 @@
+package com.internship.benchmark;
+
+import com.internship.dto.EmployeeDtoInterface;
+import com.internship.entity.Employee;
+import com.internship.mapper.EmployeeMapper;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+// The mapping of one employee to its response, done for every employee returned by the endpoints.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeMapperBenchmark {
+    private final EmployeeMapper employeeMapper = new EmployeeMapper();
+    private Employee employee;
+    private EmployeeDtoInterface employeeRow;
+
+    @Setup
+    public void setUp() {
+        employee = BenchmarkData.employee();
+        employeeRow = BenchmarkData.employeeRow(employee);
+    }
+
+    @Benchmark
+    public void toResponse(Blackhole blackhole) {
+        blackhole.consume(employeeMapper.toResponse(employee, 8, 21));
+    }
+
+    @Benchmark
+    public void fromInterfaceToResponse(Blackhole blackhole) {
+        blackhole.consume(employeeMapper.fromInterfaceToResponse(employeeRow, 8, 21));
+    }
+}
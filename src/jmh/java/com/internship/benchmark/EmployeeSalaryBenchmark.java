@@ -0,0 +1,29 @@
+package com.internship.benchmark;
+
+import com.internship.entity.Employee;
+import com.internship.service.PayrollBatch;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+// The net salary returned by /api/employees/{id}/salary, computed from the gross salary column.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EmployeeSalaryBenchmark {
+    private Employee employee;
+
+    @Setup
+    public void setUp() {
+        employee = BenchmarkData.employee();
+    }
+
+    @Benchmark
+    public BigDecimal netSalary() {
+        return PayrollBatch.netSalaryWithoutLeaves(employee.getGrossSalary());
+    }
+}
@@ -0,0 +1,28 @@
+package com.internship.benchmark;
+
+import com.internship.service.EmploymentYears;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.LocalDate;
+import java.util.concurrent.TimeUnit;
+
+// The years of experience and leave days added to every employee response.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LeaveDaysBenchmark {
+    private final LocalDate joinedDate = BenchmarkData.JOINED_DATE;
+
+    @Benchmark
+    public int calculateYearsOfExperience() {
+        return EmploymentYears.calculateYearsOfExperience(3, joinedDate);
+    }
+
+    @Benchmark
+    public int getTheNumberOfLeaveDays() {
+        return EmploymentYears.getTheNumberOfLeaveDays(joinedDate);
+    }
+}
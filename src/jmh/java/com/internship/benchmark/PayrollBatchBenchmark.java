@@ -0,0 +1,77 @@
+package com.internship.benchmark;
+
+import com.internship.service.PayrollBatch;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// One payroll chunk computed with the previous BigDecimal arithmetic and with the long arrays of PayrollBatch,
+// both starting from and ending with BigDecimal amounts like the payroll job does.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollBatchBenchmark {
+    private static final BigDecimal TAX_RATIO = BigDecimal.valueOf(0.15);
+    private static final BigDecimal INSURANCE_AMOUNT = BigDecimal.valueOf(500);
+    private static final BigDecimal WORKING_DAY_IN_MONTH = BigDecimal.valueOf(30);
+
+    @Param("500")
+    private int chunkSize;
+    private BigDecimal[] grossSalaries;
+    private BigDecimal[] bonuses;
+    private int[] leaveDays;
+    private PayrollBatch batch;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        grossSalaries = new BigDecimal[chunkSize];
+        bonuses = new BigDecimal[chunkSize];
+        leaveDays = new int[chunkSize];
+        for (int i = 0; i < chunkSize; i++) {
+            grossSalaries[i] = BigDecimal.valueOf(random.nextLong(300_000, 5_000_000), 2);
+            bonuses[i] = i % 4 == 0 ? BigDecimal.valueOf(random.nextLong(0, 200_000), 2) : BigDecimal.ZERO;
+            // most employees are within their yearly allowance
+            leaveDays[i] = i % 10 == 0 ? random.nextInt(1, 6) : 0;
+        }
+        batch = new PayrollBatch(chunkSize);
+    }
+
+    @Benchmark
+    public void bigDecimal(Blackhole blackhole) {
+        for (int i = 0; i < chunkSize; i++) {
+            BigDecimal taxAmount = grossSalaries[i].multiply(TAX_RATIO);
+            BigDecimal leavesDeduction = grossSalaries[i]
+                    .divide(WORKING_DAY_IN_MONTH, 10, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(leaveDays[i]))
+                    .setScale(2, RoundingMode.HALF_UP);
+            BigDecimal netSalary = grossSalaries[i]
+                    .subtract(taxAmount.add(INSURANCE_AMOUNT).add(leavesDeduction))
+                    .add(bonuses[i]);
+            blackhole.consume(taxAmount);
+            blackhole.consume(leavesDeduction);
+            blackhole.consume(netSalary);
+        }
+    }
+
+    @Benchmark
+    public void payrollBatch(Blackhole blackhole) {
+        batch.clear();
+        for (int i = 0; i < chunkSize; i++) {
+            batch.add(grossSalaries[i], bonuses[i], leaveDays[i]);
+        }
+        batch.calculate();
+        for (int i = 0; i < chunkSize; i++) {
+            blackhole.consume(batch.getTaxAmount(i));
+            blackhole.consume(batch.getLeavesDeduction(i));
+            blackhole.consume(batch.getNetSalary(i));
+        }
+    }
+}
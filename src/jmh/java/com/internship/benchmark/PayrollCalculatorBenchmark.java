@@ -0,0 +1,80 @@
+package com.internship.benchmark;
+
+import com.internship.dto.EmployeeLeaveCount;
+import com.internship.dto.EmployeeLeaveCountDtoInterface;
+import com.internship.dto.PayrollEmployeeDtoInterface;
+import com.internship.entity.Employee;
+import com.internship.entity.Payroll;
+import com.internship.service.PayrollCalculator;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// The payroll of one chunk with its leave deductions, from the rows read by the job to the rows it inserts.
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PayrollCalculatorBenchmark {
+    private static final YearMonth PAYROLL_MONTH = YearMonth.of(2020, 2);
+    private static final LocalDate TODAY = LocalDate.of(2020, 3, 1);
+
+    @Param("500")
+    private int chunkSize;
+    // share of the employees that exceed their yearly allowance this month
+    @Param({"0.1", "1.0"})
+    private double deductedShare;
+    private final PayrollCalculator payrollCalculator = new PayrollCalculator();
+    private final Function<Long, Employee> employeeReferences = id -> Employee.builder().id(id).build();
+    private List<PayrollEmployeeDtoInterface> employees;
+    private Map<Long, BigDecimal> bonuses;
+    private Map<Long, EmployeeLeaveCountDtoInterface> leaveCounts;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        employees = new ArrayList<>(chunkSize);
+        bonuses = new HashMap<>();
+        leaveCounts = new HashMap<>();
+        for (long id = 1; id <= chunkSize; id++) {
+            final Long employeeId = id;
+            final LocalDate joinedDate = LocalDate.of(random.nextInt(2005, 2020), 1, 1);
+            final BigDecimal grossSalary = BigDecimal.valueOf(random.nextLong(300_000, 5_000_000), 2);
+            employees.add(new PayrollEmployeeDtoInterface() {
+                public Long getId() {
+                    return employeeId;
+                }
+
+                public LocalDate getJoinedDate() {
+                    return joinedDate;
+                }
+
+                public BigDecimal getGrossSalary() {
+                    return grossSalary;
+                }
+            });
+            if (id % 4 == 0) {
+                bonuses.put(id, BigDecimal.valueOf(random.nextLong(0, 200_000), 2));
+            }
+            long takenInMonth = random.nextInt(1, 6);
+            long takenBeforeMonth = random.nextDouble() < deductedShare ? 21 : random.nextInt(0, 16);
+            leaveCounts.put(id, new EmployeeLeaveCount(id, takenBeforeMonth, takenInMonth));
+        }
+    }
+
+    @Benchmark
+    public List<Payroll> calculate() {
+        return payrollCalculator.calculate(PAYROLL_MONTH, TODAY, employees, bonuses, leaveCounts, employeeReferences);
+    }
+}
@@ -0,0 +1,194 @@
+package com.internship.load;
+
+import com.internship.service.SqlMetrics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Mixed read and write traffic from concurrent clients against the application running on H2 in MySQL mode,
+// seeded at startup by the dataset generator. The traffic is set with load-test.* properties and the org with
+// dataset-generator.* ones, e.g. ./gradlew loadTest -Pload-test.clients=64 -Pdataset-generator.employees=20000
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"loadtest", "generate-dataset"})
+public class ApiLoadTest {
+    private static final Path REPORT = Path.of("build", "reports", "load-test", "report.txt");
+    // the lists are read one page at a time like a paging client, without a limit they return the whole list
+    private static final String FIRST_PAGE = "?limit=100";
+
+    @LocalServerPort
+    private int port;
+    @Value("${load-test.clients:16}")
+    private int clients;
+    @Value("${load-test.requests-per-client:500}")
+    private int requestsPerClient;
+    @Value("${load-test.warmup-requests:50}")
+    private int warmupRequests;
+    @Value("${load-test.seed:42}")
+    private long seed;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    // the sql statements of each request are read from the metrics of the application
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private final HttpClient httpClient = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    private List<Long> employeeIds;
+    private List<Long> managerIds;
+    private List<Long> teamIds;
+
+    @Test
+    public void testMixedTraffic_shouldReportLatencyAndStatementsPerEndpoint() throws Exception {
+        employeeIds = jdbcTemplate.queryForList("SELECT id FROM employees ORDER BY id", Long.class);
+        managerIds = jdbcTemplate.queryForList(
+                "SELECT DISTINCT manager_id FROM employees WHERE manager_id IS NOT NULL ORDER BY manager_id",
+                Long.class);
+        teamIds = jdbcTemplate.queryForList("SELECT id FROM teams ORDER BY id", Long.class);
+
+        // the warmup requests are sent by one client and not reported
+        run(1, warmupRequests, new LatencyReport(new SimpleMeterRegistry(), meterRegistry));
+        meterRegistry.find(SqlMetrics.STATEMENTS_METRIC).meters().forEach(meterRegistry::remove);
+        meterRegistry.find(SqlMetrics.TIME_METRIC).meters().forEach(meterRegistry::remove);
+        LatencyReport report = new LatencyReport(new SimpleMeterRegistry(), meterRegistry);
+        long start = System.nanoTime();
+        run(clients, requestsPerClient, report);
+        String result = report.format(Duration.ofNanos(System.nanoTime() - start));
+
+        System.out.println(result);
+        Files.createDirectories(REPORT.getParent());
+        Files.writeString(REPORT, result);
+        assertEquals(0, Operation.stream().mapToLong(operation -> report.count(operation.endpoint, 0, 0)).sum());
+    }
+
+    private void run(int clientCount, int requests, LatencyReport report) throws Exception {
+        try (ExecutorService executor = Executors.newFixedThreadPool(clientCount)) {
+            List<Future<?>> runs = new ArrayList<>();
+            for (int client = 0; client < clientCount; client++) {
+                Random random = new Random(seed + client);
+                runs.add(executor.submit(() -> {
+                    for (int i = 0; i < requests; i++) {
+                        send(Operation.pick(random), random, report);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> run : runs) {
+                run.get();
+            }
+        }
+    }
+
+    private void send(Operation operation, Random random, LatencyReport report) throws InterruptedException {
+        HttpRequest request = operation.request(this, random);
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (IOException ex) {
+            // transport failures are reported with status 0
+            status = 0;
+        }
+        report.record(operation.endpoint, status, System.nanoTime() - start);
+    }
+
+    private HttpRequest.Builder request(String path) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .timeout(Duration.ofSeconds(30));
+    }
+
+    private HttpRequest.Builder json(String path, String body) {
+        return request(path).header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+    }
+
+    private static <T> T any(List<T> values, Random random) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    // the share of each request in the traffic, reads dominate like on the real api
+    private enum Operation {
+        GET_EMPLOYEE("GET /api/employees/{id}", 30),
+        GET_TEAM_MEMBERS("GET /api/team/{id}/members", 20),
+        GET_SUBORDINATES("GET /api/employees/{managerId}/subordinates", 15),
+        GET_HIERARCHY("GET /api/employees/{managerId}/hierarchy", 5),
+        UPDATE_SALARY("PUT /api/employees/{id}/salary", 10),
+        CREATE_LEAVE("POST /api/leave", 10),
+        CREATE_BONUS("POST /api/bonus", 10);
+
+        private static final int TOTAL_WEIGHT = Arrays.stream(values()).mapToInt(op -> op.weight).sum();
+        private final String endpoint;
+        private final int weight;
+
+        Operation(String endpoint, int weight) {
+            this.endpoint = endpoint;
+            this.weight = weight;
+        }
+
+        static Stream<Operation> stream() {
+            return Arrays.stream(values());
+        }
+
+        static Operation pick(Random random) {
+            int value = random.nextInt(TOTAL_WEIGHT);
+            for (Operation operation : values()) {
+                value -= operation.weight;
+                if (value < 0) {
+                    return operation;
+                }
+            }
+            throw new IllegalStateException();
+        }
+
+        HttpRequest request(ApiLoadTest test, Random random) {
+            LocalDate today = LocalDate.now();
+            return switch (this) {
+                case GET_EMPLOYEE -> test.request("/api/employees/" + any(test.employeeIds, random)).build();
+                case GET_TEAM_MEMBERS -> test.request("/api/team/" + any(test.teamIds, random)
+                        + "/members" + FIRST_PAGE).build();
+                case GET_SUBORDINATES -> test.request("/api/employees/" + any(test.managerIds, random)
+                        + "/subordinates" + FIRST_PAGE).build();
+                case GET_HIERARCHY -> test.request("/api/employees/" + any(test.managerIds, random)
+                        + "/hierarchy" + FIRST_PAGE).build();
+                case UPDATE_SALARY -> test.request("/api/employees/" + any(test.employeeIds, random) + "/salary")
+                        .header("Content-Type", "application/json")
+                        .PUT(HttpRequest.BodyPublishers.ofString("{\"grossSalary\": "
+                                + (3000 + random.nextInt(50_000)) + "}"))
+                        .build();
+                // one day between today and the end of the year, a day already taken is answered with 409
+                case CREATE_LEAVE -> {
+                    LocalDate date = today.plusDays(random.nextInt(today.lengthOfYear() - today.getDayOfYear() + 1));
+                    yield test.json("/api/leave", "{\"startDate\": \"" + date + "\", \"endDate\": \"" + date
+                            + "\", \"employeeId\": " + any(test.employeeIds, random) + "}").build();
+                }
+                case CREATE_BONUS -> test.json("/api/bonus", "{\"amount\": " + (100 + random.nextInt(2000))
+                        + ", \"employeeId\": " + any(test.employeeIds, random) + "}").build();
+            };
+        }
+    }
+}
@@ -0,0 +1,110 @@
+package com.internship.load;
+
+import com.internship.service.SqlMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.CountAtBucket;
+import io.micrometer.core.instrument.distribution.HistogramSnapshot;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+// Latency histogram, percentiles and statuses of each endpoint, with the sql statements recorded by the application.
+public class LatencyReport {
+    static final String LATENCY_METRIC = "load.request.latency";
+    static final String STATUS_METRIC = "load.request.status";
+    private static final Duration[] BUCKETS = {
+        Duration.ofMillis(1), Duration.ofMillis(2), Duration.ofMillis(5), Duration.ofMillis(10),
+        Duration.ofMillis(25), Duration.ofMillis(50), Duration.ofMillis(100), Duration.ofMillis(250),
+        Duration.ofMillis(500), Duration.ofSeconds(1)
+    };
+    private static final int BAR_WIDTH = 50;
+
+    private final MeterRegistry meterRegistry;
+    private final MeterRegistry applicationRegistry;
+
+    public LatencyReport(MeterRegistry meterRegistry, MeterRegistry applicationRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.applicationRegistry = applicationRegistry;
+    }
+
+    public void record(String endpoint, int status, long nanos) {
+        // the percentiles cover the whole run instead of the default sliding window
+        Timer.builder(LATENCY_METRIC)
+                .tag("endpoint", endpoint)
+                .publishPercentiles(0.5, 0.9, 0.99)
+                .serviceLevelObjectives(BUCKETS)
+                .distributionStatisticExpiry(Duration.ofDays(1))
+                .distributionStatisticBufferLength(1)
+                .register(meterRegistry)
+                .record(nanos, TimeUnit.NANOSECONDS);
+        Counter.builder(STATUS_METRIC)
+                .tag("endpoint", endpoint)
+                .tag("status", String.valueOf(status))
+                .register(meterRegistry)
+                .increment();
+    }
+
+    public long count(String endpoint, int fromStatus, int toStatus) {
+        return Math.round(meterRegistry.find(STATUS_METRIC).tag("endpoint", endpoint).counters().stream()
+                .filter(counter -> {
+                    int status = Integer.parseInt(counter.getId().getTag("status"));
+                    return status >= fromStatus && status <= toStatus;
+                })
+                .mapToDouble(Counter::count)
+                .sum());
+    }
+
+    public String format(Duration elapsed) {
+        Map<String, Timer> timers = meterRegistry.find(LATENCY_METRIC).timers().stream()
+                .collect(Collectors.toMap(timer -> timer.getId().getTag("endpoint"), timer -> timer,
+                        (first, second) -> first, TreeMap::new));
+        long requests = timers.values().stream().mapToLong(Timer::count).sum();
+        StringBuilder report = new StringBuilder();
+        report.append(String.format("%d requests in %.1f s, %.0f requests/s%n%n", requests,
+                elapsed.toMillis() / 1000.0, requests * 1000.0 / Math.max(1, elapsed.toMillis())));
+        report.append(String.format("%-45s %8s %8s %8s %8s %8s %8s %10s %8s %10s%n", "endpoint", "requests",
+                "errors", "p50 ms", "p90 ms", "p99 ms", "max ms", "sql/req", "sql max", "db ms/req"));
+        timers.forEach((endpoint, timer) -> {
+            HistogramSnapshot snapshot = timer.takeSnapshot();
+            ValueAtPercentile[] percentiles = snapshot.percentileValues();
+            DistributionSummary statements = applicationRegistry.find(SqlMetrics.STATEMENTS_METRIC)
+                    .tag("source", SqlMetrics.HTTP_SOURCE).tag("endpoint", endpoint).summary();
+            Timer databaseTime = applicationRegistry.find(SqlMetrics.TIME_METRIC)
+                    .tag("source", SqlMetrics.HTTP_SOURCE).tag("endpoint", endpoint).timer();
+            report.append(String.format("%-45s %8d %8d %8.2f %8.2f %8.2f %8.2f %10.2f %8.0f %10.2f%n", endpoint,
+                    timer.count(), count(endpoint, 400, 599),
+                    percentiles[0].value(TimeUnit.MILLISECONDS), percentiles[1].value(TimeUnit.MILLISECONDS),
+                    percentiles[2].value(TimeUnit.MILLISECONDS), timer.max(TimeUnit.MILLISECONDS),
+                    statements != null ? statements.mean() : Double.NaN,
+                    statements != null ? statements.max() : Double.NaN,
+                    databaseTime != null ? databaseTime.mean(TimeUnit.MILLISECONDS) : Double.NaN));
+        });
+        timers.forEach((endpoint, timer) -> {
+            report.append(String.format("%n%s, statuses %s%n", endpoint, statuses(endpoint)));
+            double previous = 0;
+            for (CountAtBucket bucket : timer.takeSnapshot().histogramCounts()) {
+                double count = bucket.count() - previous;
+                previous = bucket.count();
+                report.append(String.format("  <= %6.0f ms %8.0f %s%n", bucket.bucket(TimeUnit.MILLISECONDS), count,
+                        "#".repeat((int) Math.round(count * BAR_WIDTH / Math.max(1, timer.count())))));
+            }
+            double slower = timer.count() - previous;
+            report.append(String.format("   > %6.0f ms %8.0f %s%n", BUCKETS[BUCKETS.length - 1].toMillis() * 1.0,
+                    slower, "#".repeat((int) Math.round(slower * BAR_WIDTH / Math.max(1, timer.count())))));
+        });
+        return report.toString();
+    }
+
+    private Map<String, Long> statuses(String endpoint) {
+        return meterRegistry.find(STATUS_METRIC).tag("endpoint", endpoint).counters().stream()
+                .collect(Collectors.toMap(counter -> counter.getId().getTag("status"),
+                        counter -> Math.round(counter.count()), Long::sum, TreeMap::new));
+    }
+}
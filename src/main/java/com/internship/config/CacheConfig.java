@@ -0,0 +1,33 @@
+package com.internship.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.cache.CacheManagerCustomizer;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.List;
+
+@Configuration
+@EnableCaching
+public class CacheConfig {
+    // lookups of the reference tables, sized and expired by spring.cache.caffeine.spec
+    public static final String DEPARTMENTS_CACHE = "departments";
+    public static final String TEAMS_CACHE = "teams";
+    public static final String EXPERTISES_CACHE = "expertises";
+    // the member responses of each team, sized and expired by TeamMembersCacheProperties
+    public static final String TEAM_MEMBERS_CACHE = "teamMembers";
+
+    @Bean
+    public CacheManagerCustomizer<CaffeineCacheManager> teamMembersCacheCustomizer(
+            TeamMembersCacheProperties properties) {
+        // weighed by the number of members, so a few big teams can't hold more employees than a lot of small ones
+        return cacheManager -> cacheManager.registerCustomCache(TEAM_MEMBERS_CACHE, Caffeine.newBuilder()
+                .maximumWeight(properties.getMaxEmployees())
+                .weigher((Object teamId, Object members) -> Math.max(1, ((List<?>) members).size()))
+                .expireAfterWrite(properties.getExpireAfterWrite())
+                .recordStats()
+                .build());
+    }
+}
@@ -0,0 +1,37 @@
+package com.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "dataset-generator")
+public class DatasetGeneratorProperties {
+    // the same seed and settings always generate the same rows
+    private long seed = 42;
+    private int employees = 100_000;
+    // minimum number of direct subordinates of each manager, raised when the employees don't fit in max-depth levels
+    private int fanOut = 8;
+    // number of manager levels under the top manager
+    private int maxDepth = 6;
+    private int departments = 10;
+    private int teams = 2_000;
+    // number of distinct expertise names and number of expertises of each employee
+    private int expertises = 200;
+    private int expertisesPerEmployee = 3;
+    // salaries, leaves and bonuses are generated for the years before the end date
+    private int historyYears = 3;
+    private LocalDate endDate = LocalDate.of(2025, 12, 31);
+    private double salaryChangesPerYear = 1;
+    // share of the working days taken as leave
+    private double leaveDensity = 0.04;
+    // share of the employees receiving a bonus each month
+    private double monthlyBonusShare = 0.2;
+    // number of employees generated and committed together
+    private int chunkSize = 1_000;
+}
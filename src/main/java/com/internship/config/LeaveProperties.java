@@ -0,0 +1,16 @@
+package com.internship.config;
+
+import com.internship.enums.LeaveStorage;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "leave")
+public class LeaveProperties {
+    // new leaves are stored as one row per working day or as one row per requested date range
+    private LeaveStorage storage = LeaveStorage.DAYS;
+}
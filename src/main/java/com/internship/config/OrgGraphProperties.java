@@ -0,0 +1,15 @@
+package com.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "org-graph")
+public class OrgGraphProperties {
+    // keep the manager -> subordinates links in memory and answer the hierarchy endpoints from them
+    private boolean enabled = false;
+}
@@ -0,0 +1,23 @@
+package com.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "payroll")
+public class PayrollProperties {
+    // number of employees computed and committed together
+    private int chunkSize = 500;
+    // number of workers computing partitions at the same time, each one holds a database connection
+    private int parallelism = 1;
+    // number of employee id ranges the payroll is split into
+    private int partitions = 1;
+    // a running job without any committed chunk for this long is considered crashed and can be resumed by another run
+    private Duration claimTimeout = Duration.ofMinutes(30);
+}
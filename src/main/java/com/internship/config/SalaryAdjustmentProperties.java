@@ -0,0 +1,15 @@
+package com.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "salary-adjustment")
+public class SalaryAdjustmentProperties {
+    // number of adjustments committed together, 0 applies the whole request in one transaction
+    private int chunkSize = 0;
+}
@@ -0,0 +1,35 @@
+package com.internship.config;
+
+import com.internship.service.SqlMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import javax.sql.DataSource;
+
+@Configuration
+public class SqlMetricsConfig {
+    // static so the data source is wrapped before anything uses it, the properties are only read at that moment
+    @Bean
+    public static BeanPostProcessor sqlMetricsDataSourcePostProcessor(
+            ObjectProvider<SqlMetricsProperties> properties) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof SqlMetricsDataSource)
+                        && properties.getObject().isEnabled()) {
+                    return new SqlMetricsDataSource(dataSource, properties.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+
+    // applied by Spring Boot to the application task executor, which also writes the streamed response bodies
+    @Bean
+    public TaskDecorator sqlMetricsTaskDecorator() {
+        return SqlMetrics::propagate;
+    }
+}
@@ -0,0 +1,98 @@
+package com.internship.config;
+
+import com.internship.service.SqlMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Times every statement execution of the wrapped data source: the time is added to the request or job running it,
+// and the executions slower than the threshold are logged with their sql. The bind parameters can hold personal data,
+// so they are only kept and logged when the debug level is enabled for this class.
+// Batches are executed in one round trip, so they count as one statement.
+@Slf4j
+public class SqlMetricsDataSource extends DelegatingDataSource {
+    private final long slowQueryThresholdNanos;
+
+    public SqlMetricsDataSource(DataSource dataSource, SqlMetricsProperties properties) {
+        super(dataSource);
+        this.slowQueryThresholdNanos = properties.getSlowQueryThreshold().toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    Object result = invoke(connection, method, args);
+                    if (result instanceof Statement statement && method.getReturnType().isInterface()) {
+                        // the sql of prepared statements is given when they are created
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : null;
+                        return wrapStatement(statement, method.getReturnType(), sql);
+                    }
+                    return result;
+                });
+    }
+
+    private Object wrapStatement(Statement statement, Class<?> type, String preparedSql) {
+        Map<Integer, Object> binds = new TreeMap<>();
+        int[] batchedRows = new int[1];
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            String name = method.getName();
+            if (name.startsWith("execute")) {
+                long start = System.nanoTime();
+                try {
+                    return invoke(statement, method, args);
+                } finally {
+                    long nanos = System.nanoTime() - start;
+                    SqlMetrics.recordStatement(nanos);
+                    if (nanos >= slowQueryThresholdNanos) {
+                        String sql = args != null && args.length > 0 && args[0] instanceof String text
+                                ? text : preparedSql;
+                        log.warn("Slow SQL statement took {} ms ({} batched rows): {}", nanos / 1_000_000,
+                                batchedRows[0], sql);
+                        log.debug("Binds of the slow SQL statement: {}", binds);
+                    }
+                    if (name.equals("executeBatch")) {
+                        batchedRows[0] = 0;
+                    }
+                }
+            }
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                // setNull(index, type) binds null, the other setters bind their second argument
+                if (log.isDebugEnabled()) {
+                    binds.put(index, name.equals("setNull") ? null : args[1]);
+                }
+            } else if (name.equals("clearParameters")) {
+                binds.clear();
+            } else if (name.equals("addBatch")) {
+                batchedRows[0]++;
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+}
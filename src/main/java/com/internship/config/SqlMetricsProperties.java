@@ -0,0 +1,19 @@
+package com.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "sql-metrics")
+public class SqlMetricsProperties {
+    // wraps the data source to count and time the statements of each request and job
+    private boolean enabled = true;
+    // statements running longer are logged with their bind parameters
+    private Duration slowQueryThreshold = Duration.ofMillis(500);
+}
@@ -0,0 +1,21 @@
+package com.internship.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+@Getter
+@Setter
+@Component
+@ConfigurationProperties(prefix = "team-members-cache")
+public class TeamMembersCacheProperties {
+    // serve the team members pages from a cached list of all the members of the team
+    private boolean enabled = true;
+    // the entries are weighed by their number of members, a team bigger than this is never kept
+    private long maxEmployees = 100_000;
+    // years of experience and leave days depend on the current date, so entries are also refreshed after this
+    private Duration expireAfterWrite = Duration.ofMinutes(10);
+}
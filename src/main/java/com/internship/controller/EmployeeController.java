@@ -4,13 +4,21 @@ import com.internship.dto.*;
 import com.internship.mapper.EmployeeSalaryMapper;
 import com.internship.repository.EmployeeRepository;
 import com.internship.repository.EmployeeSalaryRepository;
+import com.internship.service.EmployeeImportService;
 import com.internship.service.EmployeeService;
+import com.internship.service.SalaryAdjustmentService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -21,6 +29,10 @@ public class EmployeeController {
     private final EmployeeRepository employeeRepository;
     private final EmployeeSalaryRepository employeeSalaryRepository;
     private final EmployeeSalaryMapper employeeSalaryMapper;
+    private final EmployeePageResponses employeePageResponses;
+    private final EmployeeETags employeeETags;
+    private final EmployeeImportService employeeImportService;
+    private final SalaryAdjustmentService salaryAdjustmentService;
 
     @PostMapping
     public ResponseEntity<EmployeeResponse> createEmployee(@RequestBody @Valid CreateEmployeeRequest request) {
@@ -28,6 +40,17 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.CREATED).body(employee);
     }
 
+    // the body is a csv file with a header row or one json employee per line
+    @PostMapping(value = "/import",
+            consumes = {EmployeeImportService.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<EmployeeImportResponse> importEmployees(
+            @RequestHeader(HttpHeaders.CONTENT_TYPE) final String contentType,
+            final InputStream body) throws IOException {
+        EmployeeImportResponse response = employeeImportService.importEmployees(body,
+                MediaType.parseMediaType(contentType));
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @PatchMapping("/{id}")
     public ResponseEntity<EmployeeResponse> updateEmployee(@RequestBody @Valid final UpdateEmployeeRequest request,
                                                            @PathVariable final Long id) {
@@ -49,10 +72,22 @@ public class EmployeeController {
         return ResponseEntity.status(HttpStatus.OK).body(response);
     }
 
+    @PostMapping("/salary-adjustments")
+    public ResponseEntity<BulkSalaryAdjustmentResponse> adjustSalaries(
+            @RequestBody @Valid final BulkSalaryAdjustmentRequest request) {
+        BulkSalaryAdjustmentResponse response = salaryAdjustmentService.adjustSalaries(request);
+        return ResponseEntity.status(HttpStatus.OK).body(response);
+    }
+
     @GetMapping("/{id}")
-    public ResponseEntity<EmployeeResponse> getEmployee(@PathVariable final Long id) {
+    public ResponseEntity<EmployeeResponse> getEmployee(@PathVariable final Long id, final WebRequest request) {
+        // only the version is read when the client already has the current employee
+        String etag = employeeETags.forEmployee(service.getEmployeeVersion(id));
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         EmployeeResponse response = service.getEmployee(id);
-        return ResponseEntity.status(HttpStatus.OK).body(response);
+        return ResponseEntity.status(HttpStatus.OK).eTag(etag).body(response);
     }
 
     @DeleteMapping("/{id}")
@@ -68,14 +103,36 @@ public class EmployeeController {
     }
 
     @GetMapping("/{managerId}/hierarchy")
-    public ResponseEntity<List<EmployeeResponse>> getAllSubordinatesHierarchy(@PathVariable final Long managerId) {
-        List<EmployeeResponse> employeeResponses = service.getEmployeesUnderManagerRecursively(managerId);
-        return ResponseEntity.status(HttpStatus.OK).body(employeeResponses);
+    public ResponseEntity<List<EmployeeResponse>> getAllSubordinatesHierarchy(
+            @PathVariable final Long managerId,
+            @RequestParam(required = false) final Long after,
+            @RequestParam(required = false) final Integer limit) {
+        return employeePageResponses.page(after, limit,
+                (afterId, pageSize) -> service.getEmployeesUnderManagerRecursively(managerId, afterId, pageSize));
+    }
+
+    @GetMapping(value = "/{managerId}/hierarchy", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamAllSubordinatesHierarchy(
+            @PathVariable final Long managerId,
+            @RequestParam(defaultValue = "0") final Long after) {
+        return employeePageResponses.stream(after,
+                (afterId, pageSize) -> service.getEmployeesUnderManagerRecursively(managerId, afterId, pageSize));
     }
 
     @GetMapping("/{managerId}/subordinates")
-    public ResponseEntity<List<EmployeeResponse>> getDirectSubordinates(@PathVariable final Long managerId) {
-        List<EmployeeResponse> employeeResponses = service.getDirectSubordinates(managerId);
-        return ResponseEntity.status(HttpStatus.OK).body(employeeResponses);
+    public ResponseEntity<List<EmployeeResponse>> getDirectSubordinates(
+            @PathVariable final Long managerId,
+            @RequestParam(required = false) final Long after,
+            @RequestParam(required = false) final Integer limit) {
+        return employeePageResponses.page(after, limit,
+                (afterId, pageSize) -> service.getDirectSubordinates(managerId, afterId, pageSize));
+    }
+
+    @GetMapping(value = "/{managerId}/subordinates", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamDirectSubordinates(
+            @PathVariable final Long managerId,
+            @RequestParam(defaultValue = "0") final Long after) {
+        return employeePageResponses.stream(after,
+                (afterId, pageSize) -> service.getDirectSubordinates(managerId, afterId, pageSize));
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,40 @@
+package com.internship.controller;
+
+import com.internship.dto.EmployeeVersionDtoInterface;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDate;
+import java.util.HexFormat;
+import java.util.List;
+
+// Strong ETags of the employee responses, built from the employee versions so they are known without reading
+// the responses. The years of experience and the leave days depend on the current year, so it is part of them too.
+@Component
+public class EmployeeETags {
+    public String forEmployee(long version) {
+        return "\"" + version + "-" + LocalDate.now().getYear() + "\"";
+    }
+
+    public String forEmployees(List<EmployeeVersionDtoInterface> employees) {
+        MessageDigest digest = sha256();
+        ByteBuffer buffer = ByteBuffer.allocate(2 * Long.BYTES);
+        for (EmployeeVersionDtoInterface employee : employees) {
+            buffer.clear();
+            buffer.putLong(employee.getId()).putLong(employee.getVersion());
+            digest.update(buffer.array());
+        }
+        // the page is identified by its employees and their versions, an added or removed member changes it too
+        return "\"" + HexFormat.of().formatHex(digest.digest(), 0, 16) + "-" + LocalDate.now().getYear() + "\"";
+    }
+
+    private MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
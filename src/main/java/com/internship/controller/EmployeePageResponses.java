@@ -0,0 +1,104 @@
+package com.internship.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.internship.dto.EmployeeResponse;
+import com.internship.dto.EmployeeVersionDtoInterface;
+import com.internship.exception.BusinessException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.util.List;
+import java.util.function.BiFunction;
+
+import static com.internship.exception.ApiError.INVALID_PAGE_SIZE;
+
+// Employee lists are read in pages ordered by employee id, the cursor of a page is the last id it returned.
+@Component
+@RequiredArgsConstructor
+public class EmployeePageResponses {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final long FIRST_CURSOR = 0L;
+    private static final int DEFAULT_PAGE_SIZE = 100;
+    private static final int MAX_PAGE_SIZE = 1000;
+    private static final int UNPAGED = Integer.MAX_VALUE;
+    private static final int STREAM_BATCH_SIZE = 500;
+    private static final byte[] NEW_LINE = {'\n'};
+    private final ObjectMapper objectMapper;
+    private final EmployeeETags employeeETags;
+
+    public ResponseEntity<List<EmployeeResponse>> page(Long afterId, Integer limit,
+                                                       BiFunction<Long, Integer, List<EmployeeResponse>> loader) {
+        return buildPage(ResponseEntity.status(HttpStatus.OK), afterId, limit, loader);
+    }
+
+    // the ETag of the page is computed from the ids and versions of its employees, when the client already has it
+    // the page is answered with 304 without reading the employees
+    public ResponseEntity<List<EmployeeResponse>> conditionalPage(
+            Long afterId, Integer limit, WebRequest request,
+            BiFunction<Long, Integer, List<EmployeeVersionDtoInterface>> versionLoader,
+            BiFunction<Long, Integer, List<EmployeeResponse>> loader) {
+        String etag = employeeETags.forEmployees(versionLoader.apply(cursor(afterId), pageSize(afterId, limit)));
+        if (request.checkNotModified(etag)) {
+            // the 304 status and the ETag header are already set on the response
+            return null;
+        }
+        return buildPage(ResponseEntity.status(HttpStatus.OK).eTag(etag), afterId, limit, loader);
+    }
+
+    public ResponseEntity<StreamingResponseBody> stream(Long afterId,
+                                                        BiFunction<Long, Integer, List<EmployeeResponse>> loader) {
+        // the first batch is read before the response starts, so a missing manager or team is still reported
+        List<EmployeeResponse> firstBatch = loader.apply(afterId, STREAM_BATCH_SIZE);
+        StreamingResponseBody body = outputStream -> {
+            List<EmployeeResponse> batch = firstBatch;
+            while (true) {
+                // one employee per line, only a single batch is held in memory at a time
+                for (EmployeeResponse employee : batch) {
+                    outputStream.write(objectMapper.writeValueAsBytes(employee));
+                    outputStream.write(NEW_LINE);
+                }
+                outputStream.flush();
+                if (batch.size() < STREAM_BATCH_SIZE) {
+                    break;
+                }
+                batch = loader.apply(batch.getLast().getId(), STREAM_BATCH_SIZE);
+            }
+        };
+        return ResponseEntity.status(HttpStatus.OK)
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    private long cursor(Long afterId) {
+        return afterId != null ? afterId : FIRST_CURSOR;
+    }
+
+    private int pageSize(Long afterId, Integer limit) {
+        // clients that send neither a cursor nor a limit still get the whole list, as before the lists were paged
+        if (afterId == null && limit == null) {
+            return UNPAGED;
+        }
+        int pageSize = limit != null ? limit : DEFAULT_PAGE_SIZE;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new BusinessException(INVALID_PAGE_SIZE);
+        }
+        return pageSize;
+    }
+
+    private ResponseEntity<List<EmployeeResponse>> buildPage(
+            ResponseEntity.BodyBuilder response, Long afterId, Integer limit,
+            BiFunction<Long, Integer, List<EmployeeResponse>> loader) {
+        int pageSize = pageSize(afterId, limit);
+        List<EmployeeResponse> page = loader.apply(cursor(afterId), pageSize);
+        // a full page means there may be more employees after its last id
+        if (pageSize != UNPAGED && page.size() == pageSize) {
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.getLast().getId()));
+        }
+        return response.body(page);
+    }
+}
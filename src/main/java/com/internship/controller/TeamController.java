@@ -3,12 +3,11 @@ package com.internship.controller;
 import com.internship.dto.EmployeeResponse;
 import com.internship.service.TeamService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.web.bind.annotation.GetMapping;
-import org.springframework.web.bind.annotation.PathVariable;
-import org.springframework.web.bind.annotation.RequestMapping;
-import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -17,10 +16,24 @@ import java.util.List;
 @RequiredArgsConstructor
 public class TeamController {
     private final TeamService service;
+    private final EmployeePageResponses employeePageResponses;
 
     @GetMapping("{id}/members")
-    public ResponseEntity<List<EmployeeResponse>> getEmployeesUnderTeam(@PathVariable final Long id) {
-        return ResponseEntity.status(HttpStatus.OK)
-                .body(service.getMembers(id));
+    public ResponseEntity<List<EmployeeResponse>> getEmployeesUnderTeam(
+            @PathVariable final Long id,
+            @RequestParam(required = false) final Long after,
+            @RequestParam(required = false) final Integer limit,
+            final WebRequest request) {
+        return employeePageResponses.conditionalPage(after, limit, request,
+                (afterId, pageSize) -> service.getMemberVersions(id, afterId, pageSize),
+                (afterId, pageSize) -> service.getMembers(id, afterId, pageSize));
+    }
+
+    @GetMapping(value = "{id}/members", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamEmployeesUnderTeam(
+            @PathVariable final Long id,
+            @RequestParam(defaultValue = "0") final Long after) {
+        return employeePageResponses.stream(after,
+                (afterId, pageSize) -> service.getMembers(id, afterId, pageSize));
     }
 }
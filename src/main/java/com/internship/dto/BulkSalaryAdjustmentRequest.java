@@ -0,0 +1,18 @@
+package com.internship.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkSalaryAdjustmentRequest {
+    @NotEmpty(message = "adjustments are required")
+    private List<@Valid @NotNull SalaryAdjustmentRequest> adjustments;
+}
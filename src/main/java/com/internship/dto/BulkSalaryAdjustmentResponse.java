@@ -0,0 +1,16 @@
+package com.internship.dto;
+
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BulkSalaryAdjustmentResponse {
+    private int adjustedEmployees;
+    // sum of the new gross salaries minus the old ones
+    private BigDecimal grossSalaryChange;
+}
@@ -56,5 +56,7 @@ public class CreateEmployeeRequest {
     private Long teamId;
 
     private Long managerId;
-    private List<String> expertises;
+    // the names are joined with a control character when employees are read in bulk
+    private List<@Pattern(regexp = "\\P{Cntrl}*", message = "expertise names must not contain control characters")
+            String> expertises;
 }
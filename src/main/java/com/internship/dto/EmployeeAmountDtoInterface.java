@@ -0,0 +1,9 @@
+package com.internship.dto;
+
+import java.math.BigDecimal;
+
+public interface EmployeeAmountDtoInterface {
+    Long getEmployeeId();
+
+    BigDecimal getAmount();
+}
@@ -5,7 +5,6 @@ import com.internship.enums.Gender;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.List;
 
 public interface EmployeeDtoInterface {
     Long getId();
@@ -36,5 +35,6 @@ public interface EmployeeDtoInterface {
 
     Long getManagerId();
 
-    List<String> getExpertises();
+    // names joined with EmployeeRepository.EXPERTISE_SEPARATOR, null when the employee has no expertise
+    String getExpertises();
 }
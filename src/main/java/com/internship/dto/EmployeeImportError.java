@@ -0,0 +1,14 @@
+package com.internship.dto;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeImportError {
+    // data rows are numbered from 1, the csv header is not counted
+    private long rowNumber;
+    private String message;
+}
@@ -0,0 +1,18 @@
+package com.internship.dto;
+
+import lombok.*;
+
+import java.util.List;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class EmployeeImportResponse {
+    private long totalRows;
+    private long importedRows;
+    private long failedRows;
+    // only the first errors are reported, failedRows still counts all of them
+    private List<EmployeeImportError> errors;
+}
@@ -0,0 +1,11 @@
+package com.internship.dto;
+
+import lombok.*;
+
+@Getter
+@AllArgsConstructor
+public class EmployeeLeaveCount implements EmployeeLeaveCountDtoInterface {
+    private Long employeeId;
+    private Long takenBeforeMonth;
+    private Long takenInMonth;
+}
@@ -0,0 +1,9 @@
+package com.internship.dto;
+
+public interface EmployeeLeaveCountDtoInterface {
+    Long getEmployeeId();
+
+    Long getTakenBeforeMonth();
+
+    Long getTakenInMonth();
+}
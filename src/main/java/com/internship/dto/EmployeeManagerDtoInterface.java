@@ -0,0 +1,7 @@
+package com.internship.dto;
+
+public interface EmployeeManagerDtoInterface {
+    Long getId();
+
+    Long getManagerId();
+}
@@ -0,0 +1,7 @@
+package com.internship.dto;
+
+public interface EmployeeVersionDtoInterface {
+    Long getId();
+
+    Long getVersion();
+}
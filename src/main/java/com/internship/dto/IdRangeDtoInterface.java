@@ -0,0 +1,7 @@
+package com.internship.dto;
+
+public interface IdRangeDtoInterface {
+    Long getMinId();
+
+    Long getMaxId();
+}
@@ -0,0 +1,12 @@
+package com.internship.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public interface PayrollEmployeeDtoInterface {
+    Long getId();
+
+    LocalDate getJoinedDate();
+
+    BigDecimal getGrossSalary();
+}
@@ -0,0 +1,20 @@
+package com.internship.dto;
+
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class SalaryAdjustmentRequest {
+    @NotNull(message = "employeeId is required")
+    private Long employeeId;
+    // exactly one of amount and percentage is given, a negative value lowers the salary
+    private BigDecimal amount;
+    private BigDecimal percentage;
+    private String reason;
+}
@@ -4,6 +4,7 @@ import com.internship.enums.Degree;
 import com.internship.enums.Gender;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.Past;
+import jakarta.validation.constraints.Pattern;
 import jakarta.validation.constraints.Size;
 import lombok.*;
 
@@ -37,5 +38,7 @@ public class UpdateEmployeeRequest {
     private Long departmentId;
     private Long teamId;
     private Optional<Long> managerId;
-    private List<String> expertises;
+    // the names are joined with a control character when employees are read in bulk
+    private List<@Pattern(regexp = "\\P{Cntrl}*", message = "expertise names must not contain control characters")
+            String> expertises;
 }
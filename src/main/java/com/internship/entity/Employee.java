@@ -4,14 +4,12 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import com.internship.enums.Degree;
 import com.internship.enums.Gender;
-import com.internship.exception.ApiError;
-import com.internship.exception.BusinessException;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.util.Comparator;
 import java.util.List;
 
 @Getter
@@ -20,6 +18,8 @@ import java.util.List;
 @AllArgsConstructor
 @Builder
 @Entity
+// updates only write the changed columns
+@DynamicUpdate
 @Table(name = "EMPLOYEES")
 public class Employee {
     @Id
@@ -55,6 +55,10 @@ public class Employee {
     @Column(name = "GENDER", nullable = false)
     private Gender gender;
 
+    // current salary, every change also adds an entry to employeeSalaries in the same transaction
+    @Column(name = "GROSS_SALARY", nullable = false)
+    private BigDecimal grossSalary;
+
     @ManyToOne
     @JoinColumn(name = "DEPARTMENT_ID", nullable = false)
     @JsonBackReference("department-employees")
@@ -94,9 +98,9 @@ public class Employee {
     @JsonManagedReference("employee-salary")
     private List<EmployeeSalary> employeeSalaries;
 
-    public BigDecimal getGrossSalary() {
-        return employeeSalaries.stream().max(Comparator.comparing(EmployeeSalary::getGrossSalary))
-                .orElseThrow(() -> new BusinessException(ApiError.INVALID_DATA)).getGrossSalary();
-    }
+    // optimistic lock version, also increased by the salary, leave and bonus changes of the employee
+    @Version
+    @Column(name = "VERSION", nullable = false)
+    private Long version;
 }
 
@@ -0,0 +1,48 @@
+package com.internship.entity;
+
+import com.internship.enums.PayrollJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@EntityListeners(AuditingEntityListener.class)
+@Table(
+        name = "payroll_jobs",
+        uniqueConstraints = {
+                @UniqueConstraint(
+                        name = "uq_payroll_jobs",
+                        columnNames = {"payroll_year", "payroll_month"}
+                )
+        }
+)
+public class PayrollJob {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "PAYROLL_YEAR", nullable = false, updatable = false)
+    private Integer payrollYear;
+
+    @Column(name = "PAYROLL_MONTH", nullable = false, updatable = false)
+    private Integer payrollMonth;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false)
+    private PayrollJobStatus status;
+
+    @Column(name = "PROCESSED_EMPLOYEES", nullable = false)
+    private Integer processedEmployees;
+
+    @Column(name = "UPDATED_AT", nullable = false)
+    @LastModifiedDate
+    private LocalDateTime updatedAt;
+}
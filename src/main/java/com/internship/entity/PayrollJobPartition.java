@@ -0,0 +1,36 @@
+package com.internship.entity;
+
+import com.internship.enums.PayrollJobStatus;
+import jakarta.persistence.*;
+import lombok.*;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Entity
+@Table(name = "payroll_job_partitions")
+public class PayrollJobPartition {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @ManyToOne
+    @JoinColumn(name = "JOB_ID", nullable = false, updatable = false)
+    private PayrollJob job;
+
+    @Column(name = "RANGE_START", nullable = false, updatable = false)
+    private Long rangeStart;
+
+    @Column(name = "RANGE_END", nullable = false, updatable = false)
+    private Long rangeEnd;
+
+    // the highest employee id of the partition whose chunk has been committed
+    @Column(name = "LAST_EMPLOYEE_ID", nullable = false)
+    private Long lastEmployeeId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "STATUS", nullable = false)
+    private PayrollJobStatus status;
+}
@@ -0,0 +1,5 @@
+package com.internship.enums;
+
+public enum LeaveStorage {
+    DAYS, RANGES
+}
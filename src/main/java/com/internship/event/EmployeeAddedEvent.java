@@ -0,0 +1,4 @@
+package com.internship.event;
+
+public record EmployeeAddedEvent(Long employeeId, Long managerId) {
+}
@@ -0,0 +1,5 @@
+package com.internship.event;
+
+// the subordinates of the deleted employee are moved to its manager
+public record EmployeeDeletedEvent(Long employeeId) {
+}
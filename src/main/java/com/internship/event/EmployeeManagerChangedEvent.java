@@ -0,0 +1,4 @@
+package com.internship.event;
+
+public record EmployeeManagerChangedEvent(Long employeeId, Long managerId) {
+}
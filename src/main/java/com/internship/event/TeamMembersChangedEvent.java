@@ -0,0 +1,7 @@
+package com.internship.event;
+
+import java.util.Collection;
+
+// an employee of these teams was added, changed, moved or deleted
+public record TeamMembersChangedEvent(Collection<Long> teamIds) {
+}
@@ -10,6 +10,9 @@ public enum ApiError {
     INVALID_DATE_RANGE(HttpStatus.BAD_REQUEST, "start date must be before or equal to end date"),
     INVALID_DATE_YEAR(HttpStatus.BAD_REQUEST, "date must be in the same current year"),
     INVALID_DATE_MONTH(HttpStatus.BAD_REQUEST, "date must be at least in the same current month"),
+    INVALID_PAGE_SIZE(HttpStatus.BAD_REQUEST, "limit must be between 1 and 1000"),
+    INVALID_SALARY_ADJUSTMENT(HttpStatus.BAD_REQUEST, "Invalid salary adjustments"),
+    SALARY_ADJUSTMENT_PARTIALLY_APPLIED(HttpStatus.CONFLICT, "Salary adjustments were only partially applied"),
     INVALID_DATA(HttpStatus.INTERNAL_SERVER_ERROR, "Invalid data entered"),
     HIERARCHY_CYCLE_DETECTED(HttpStatus.CONFLICT, "Cycle detected in employee hierarchy"),
     NEGATIVE_SALARY(HttpStatus.CONFLICT, "Salary cannot be Negative after deduction"),
@@ -8,6 +8,11 @@ public class BusinessException extends RuntimeException {
         this.apiError = apiError;
     }
 
+    public BusinessException(ApiError apiError, String message, Throwable cause) {
+        super(message, cause);
+        this.apiError = apiError;
+    }
+
     public BusinessException(ApiError apiError) {
         super(apiError.getDefaultMessage());
         this.apiError = apiError;
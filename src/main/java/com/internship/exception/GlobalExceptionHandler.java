@@ -3,6 +3,7 @@ package com.internship.exception;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.HttpStatusCode;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.MissingServletRequestParameterException;
@@ -20,7 +21,10 @@ public class GlobalExceptionHandler extends ResponseEntityExceptionHandler {
     public ResponseEntity<ErrorCode> handleApiException(BusinessException ex) {
         ErrorCode error = new ErrorCode(ex.getApiError().getHttpStatus(), ex.getMessage());
 
-        return new ResponseEntity<>(error, ex.getApiError().getHttpStatus());
+        // errors are always json, also for the requests that accept only the ndjson streams
+        return ResponseEntity.status(ex.getApiError().getHttpStatus())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(error);
     }
 
     protected ResponseEntity<Object> handleMissingServletRequestParameter(MissingServletRequestParameterException ex,
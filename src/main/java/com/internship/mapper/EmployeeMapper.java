@@ -7,6 +7,7 @@ import com.internship.entity.Department;
 import com.internship.entity.Employee;
 import com.internship.entity.Expertise;
 import com.internship.entity.Team;
+import com.internship.repository.EmployeeRepository;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -26,6 +27,7 @@ public class EmployeeMapper {
                 .dateOfBirth(request.getDateOfBirth())
                 .graduationDate(request.getGraduationDate())
                 .gender(request.getGender())
+                .grossSalary(request.getGrossSalary())
                 .department(department)
                 .team(team)
                 .manager(manager)
@@ -74,8 +76,16 @@ public class EmployeeMapper {
                 .departmentId(dto.getDepartmentId())
                 .teamId(dto.getTeamId())
                 .managerId(dto.getManagerId())
-                .expertises(dto.getExpertises())
+                .expertises(splitExpertises(dto.getExpertises()))
                 .build();
     }
 
+    // an employee without expertises has no joined names, its response has an empty list like the entity path
+    private static List<String> splitExpertises(String expertises) {
+        if (expertises == null) {
+            return List.of();
+        }
+        return List.of(expertises.split(EmployeeRepository.EXPERTISE_SEPARATOR));
+    }
+
 }
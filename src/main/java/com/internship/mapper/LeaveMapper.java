@@ -3,6 +3,7 @@ package com.internship.mapper;
 import com.internship.dto.CreateLeaveResponse;
 import com.internship.entity.Employee;
 import com.internship.entity.Leave;
+import com.internship.entity.LeaveRange;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
@@ -23,4 +24,12 @@ public class LeaveMapper {
                 .employeeId(leave.getEmployee().getId())
                 .build();
     }
-}
\ No newline at end of file
+
+    public CreateLeaveResponse toResponse(LeaveRange leaveRange, LocalDate date) {
+        return CreateLeaveResponse.builder()
+                .id(leaveRange.getId())
+                .leaveDate(date)
+                .employeeId(leaveRange.getEmployee().getId())
+                .build();
+    }
+}
@@ -0,0 +1,166 @@
+package com.internship.repository;
+
+import com.internship.entity.Bonus;
+import com.internship.entity.Employee;
+import com.internship.entity.EmployeeSalary;
+import com.internship.entity.Leave;
+import com.internship.entity.Payroll;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+import org.springframework.stereotype.Repository;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+// Hibernate can't batch inserts of IDENTITY entities, so bulk writes of these tables go through plain JDBC batches.
+// The MySQL driver turns each batch into multi-row inserts when rewriteBatchedStatements is enabled.
+@Repository
+@RequiredArgsConstructor
+public class BatchInsertRepository {
+    private static final int BATCH_SIZE = 500;
+    private final JdbcTemplate jdbcTemplate;
+
+    public int insertPayrolls(List<Payroll> payrolls) {
+        return batchUpdate("""
+                INSERT INTO employee_payroll (payroll_year, payroll_month, gross_salary, bonus, tax_amount,
+                                              insurance_deduction, leaves_deduction, net_salary, employee_id)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)
+                """, payrolls, (ps, payroll) -> {
+                    ps.setInt(1, payroll.getPayrollYear());
+                    ps.setInt(2, payroll.getPayrollMonth());
+                    ps.setBigDecimal(3, payroll.getGrossSalary());
+                    ps.setBigDecimal(4, payroll.getBonus());
+                    ps.setBigDecimal(5, payroll.getTaxAmount());
+                    ps.setBigDecimal(6, payroll.getInsuranceDeduction());
+                    ps.setBigDecimal(7, payroll.getLeavesDeduction());
+                    ps.setBigDecimal(8, payroll.getNetSalary());
+                    ps.setLong(9, payroll.getEmployee().getId());
+                });
+    }
+
+    public int insertLeaves(List<Leave> leaves) {
+        return batchUpdate("INSERT INTO leaves (leave_date, employee_id) VALUES (?, ?)", leaves, (ps, leave) -> {
+            ps.setObject(1, leave.getLeaveDate());
+            ps.setLong(2, leave.getEmployee().getId());
+        });
+    }
+
+    public int insertBonuses(List<Bonus> bonuses) {
+        return batchUpdate("INSERT INTO bonuses (bonus_date, amount, employee_id) VALUES (?, ?, ?)", bonuses,
+                (ps, bonus) -> {
+                    ps.setObject(1, bonus.getBonusDate());
+                    ps.setBigDecimal(2, bonus.getAmount());
+                    ps.setLong(3, bonus.getEmployee().getId());
+                });
+    }
+
+    public int insertEmployeeSalaries(List<EmployeeSalary> employeeSalaries) {
+        return batchUpdate("""
+                INSERT INTO employee_salaries (creation_date, gross_salary, reason, employee_id)
+                VALUES (?, ?, ?, ?)
+                """, employeeSalaries, (ps, employeeSalary) -> {
+                    ps.setObject(1, employeeSalary.getCreationDate() != null
+                            ? employeeSalary.getCreationDate() : LocalDateTime.now());
+                    ps.setBigDecimal(2, employeeSalary.getGrossSalary());
+                    ps.setString(3, employeeSalary.getReason());
+                    ps.setLong(4, employeeSalary.getEmployee().getId());
+                });
+    }
+
+    public int insertEmployees(List<Employee> employees) {
+        // the generated ids come back in insert order and are set on the employees for their dependent rows
+        return Objects.requireNonNull(jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("""
+                    INSERT INTO employees (first_name, last_name, national_id, degree, past_experience_year,
+                                           joined_date, date_of_birth, graduation_date, gender, gross_salary,
+                                           department_id, team_id, manager_id)
+                    VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)
+                    """, Statement.RETURN_GENERATED_KEYS)) {
+                for (int from = 0; from < employees.size(); from += BATCH_SIZE) {
+                    List<Employee> batch = employees.subList(from, Math.min(from + BATCH_SIZE, employees.size()));
+                    for (Employee employee : batch) {
+                        ps.setString(1, employee.getFirstName());
+                        ps.setString(2, employee.getLastName());
+                        ps.setString(3, employee.getNationalId());
+                        ps.setString(4, employee.getDegree().name());
+                        ps.setInt(5, employee.getPastExperienceYear());
+                        ps.setObject(6, employee.getJoinedDate());
+                        ps.setObject(7, employee.getDateOfBirth());
+                        ps.setObject(8, employee.getGraduationDate());
+                        ps.setString(9, employee.getGender().name());
+                        ps.setBigDecimal(10, employee.getGrossSalary());
+                        ps.setLong(11, employee.getDepartment().getId());
+                        ps.setLong(12, employee.getTeam().getId());
+                        ps.setObject(13, employee.getManager() != null ? employee.getManager().getId() : null,
+                                Types.BIGINT);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        for (Employee employee : batch) {
+                            if (!keys.next()) {
+                                throw new SQLException("Missing generated id of employee " + employee.getNationalId());
+                            }
+                            employee.setId(keys.getLong(1));
+                        }
+                    }
+                }
+                return employees.size();
+            }
+        }));
+    }
+
+    public int insertEmployeeExpertises(List<Employee> employees) {
+        List<long[]> links = employees.stream()
+                .flatMap(employee -> employee.getExpertises().stream()
+                        .map(expertise -> new long[]{employee.getId(), expertise.getId()}))
+                .toList();
+        return batchUpdate("INSERT INTO employee_expertise (employee_id, expertise_id) VALUES (?, ?)", links,
+                (ps, link) -> {
+                    ps.setLong(1, link[0]);
+                    ps.setLong(2, link[1]);
+                });
+    }
+
+    // sets the current salary of each employee to the gross salary of its new salary row and bumps the version
+    public int updateGrossSalaries(List<EmployeeSalary> employeeSalaries) {
+        return batchUpdate("UPDATE employees SET gross_salary = ?, version = version + 1 WHERE id = ?",
+                employeeSalaries,
+                (ps, employeeSalary) -> {
+                    ps.setBigDecimal(1, employeeSalary.getGrossSalary());
+                    ps.setLong(2, employeeSalary.getEmployee().getId());
+                });
+    }
+
+    public int insertExpertisesIgnoringDuplicates(List<String> names) {
+        if (names.isEmpty()) {
+            return 0;
+        }
+        // one multi-row insert, names created meanwhile by another request hit the unique index and are skipped
+        String values = String.join(", ", Collections.nCopies(names.size(), "(?)"));
+        return jdbcTemplate.update("INSERT INTO expertises (name) VALUES " + values
+                + " ON DUPLICATE KEY UPDATE name = name", names.toArray());
+    }
+
+    private <T> int batchUpdate(String sql, List<T> rows, ParameterizedPreparedStatementSetter<T> setter) {
+        if (rows.isEmpty()) {
+            return 0;
+        }
+        int[][] updateCounts = jdbcTemplate.batchUpdate(sql, rows, BATCH_SIZE, setter);
+        // rewritten batches report SUCCESS_NO_INFO for each row instead of its count
+        return Arrays.stream(updateCounts)
+                .flatMapToInt(Arrays::stream)
+                .map(count -> count == Statement.SUCCESS_NO_INFO ? 1 : count)
+                .sum();
+    }
+}
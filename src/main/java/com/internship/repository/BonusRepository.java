@@ -1,7 +1,10 @@
 package com.internship.repository;
 
+import com.internship.dto.EmployeeAmountDtoInterface;
 import com.internship.entity.Bonus;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -12,4 +15,16 @@ public interface BonusRepository extends JpaRepository<Bonus, Long> {
             LocalDate start,
             LocalDate end
     );
+
+    @Query("""
+            SELECT b.employee.id AS employeeId, SUM(b.amount) AS amount
+            FROM Bonus b
+            WHERE b.bonusDate BETWEEN :start AND :end
+              AND b.employee.id BETWEEN :fromId AND :toId
+            GROUP BY b.employee.id
+            """)
+    List<EmployeeAmountDtoInterface> sumAmountPerEmployeeBetween(@Param("start") LocalDate start,
+                                                                 @Param("end") LocalDate end,
+                                                                 @Param("fromId") Long fromId,
+                                                                 @Param("toId") Long toId);
 }
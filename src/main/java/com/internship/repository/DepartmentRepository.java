@@ -1,7 +1,15 @@
 package com.internship.repository;
 
+import com.internship.config.CacheConfig;
 import com.internship.entity.Department;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface DepartmentRepository extends JpaRepository<Department, Long> {
+    // departments are almost never changed, missing ids are not cached
+    @Override
+    @Cacheable(cacheNames = CacheConfig.DEPARTMENTS_CACHE, unless = "#result == null")
+    Optional<Department> findById(Long id);
 }
@@ -0,0 +1,121 @@
+package com.internship.repository;
+
+import com.internship.entity.Employee;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+// The employee_hierarchy closure table has no entity, its rows are only maintained and read with SQL.
+// Subqueries on the same table are wrapped in derived tables because MySQL can't modify a table it selects from.
+@Repository
+@RequiredArgsConstructor
+public class EmployeeHierarchyRepository {
+    private static final int BATCH_SIZE = 500;
+    private final JdbcTemplate jdbcTemplate;
+
+    public void insertEmployee(Long employeeId, Long managerId) {
+        jdbcTemplate.update("INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) VALUES (?, ?, 0)",
+                employeeId, employeeId);
+        // the new employee is under every ancestor of its manager, one level deeper
+        jdbcTemplate.update("""
+                INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth)
+                SELECT h.ancestor_id, e.id, h.depth + 1
+                FROM employee_hierarchy h
+                JOIN employees e ON e.id = ?
+                WHERE h.descendant_id = ?
+                """, employeeId, managerId);
+    }
+
+    public void insertEmployees(List<Employee> employees) {
+        jdbcTemplate.batchUpdate("INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth) VALUES (?, ?, 0)",
+                employees, BATCH_SIZE, (ps, employee) -> {
+                    ps.setLong(1, employee.getId());
+                    ps.setLong(2, employee.getId());
+                });
+        // the managers existed before the batch, so their own ancestors are already complete
+        List<Employee> managedEmployees = employees.stream()
+                .filter(employee -> employee.getManager() != null)
+                .toList();
+        jdbcTemplate.batchUpdate("""
+                INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth)
+                SELECT h.ancestor_id, e.id, h.depth + 1
+                FROM employee_hierarchy h
+                JOIN employees e ON e.id = ?
+                WHERE h.descendant_id = ?
+                """, managedEmployees, BATCH_SIZE, (ps, employee) -> {
+                    ps.setLong(1, employee.getId());
+                    ps.setLong(2, employee.getManager().getId());
+                });
+    }
+
+    public boolean isInSubtree(Long rootId, Long employeeId) {
+        Integer count = jdbcTemplate.queryForObject("""
+                SELECT COUNT(*)
+                FROM employee_hierarchy
+                WHERE ancestor_id = ? AND descendant_id = ?
+                """, Integer.class, rootId, employeeId);
+        return count != null && count > 0;
+    }
+
+    public void detachSubtree(Long rootId) {
+        // remove the links between the subtree and the managers above its root, the subtree itself stays intact
+        jdbcTemplate.update("""
+                DELETE FROM employee_hierarchy
+                WHERE descendant_id IN (SELECT descendant_id
+                                        FROM (SELECT descendant_id
+                                              FROM employee_hierarchy
+                                              WHERE ancestor_id = ?) AS subtree)
+                  AND ancestor_id IN (SELECT ancestor_id
+                                      FROM (SELECT ancestor_id
+                                            FROM employee_hierarchy
+                                            WHERE descendant_id = ? AND depth > 0) AS supertree)
+                """, rootId, rootId);
+    }
+
+    public void attachSubtree(Long rootId, Long managerId) {
+        jdbcTemplate.update("""
+                INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth)
+                SELECT supertree.ancestor_id, subtree.descendant_id, supertree.depth + subtree.depth + 1
+                FROM employee_hierarchy supertree
+                CROSS JOIN employee_hierarchy subtree
+                WHERE supertree.descendant_id = ? AND subtree.ancestor_id = ?
+                """, managerId, rootId);
+    }
+
+    public void removeEmployee(Long employeeId) {
+        // the subordinates move one level up, so every path passing through the employee gets shorter
+        jdbcTemplate.update("""
+                UPDATE employee_hierarchy
+                SET depth = depth - 1
+                WHERE descendant_id IN (SELECT descendant_id
+                                        FROM (SELECT descendant_id
+                                              FROM employee_hierarchy
+                                              WHERE ancestor_id = ? AND depth > 0) AS subtree)
+                  AND ancestor_id IN (SELECT ancestor_id
+                                      FROM (SELECT ancestor_id
+                                            FROM employee_hierarchy
+                                            WHERE descendant_id = ? AND depth > 0) AS supertree)
+                """, employeeId, employeeId);
+        jdbcTemplate.update("DELETE FROM employee_hierarchy WHERE ancestor_id = ? OR descendant_id = ?",
+                employeeId, employeeId);
+    }
+
+    public int rebuild() {
+        jdbcTemplate.update("DELETE FROM employee_hierarchy");
+        return jdbcTemplate.update("""
+                INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth)
+                WITH RECURSIVE closure (ancestor_id, descendant_id, depth) AS (
+                    SELECT id, id, 0
+                    FROM employees
+                    UNION ALL
+                    SELECT c.ancestor_id, e.id, c.depth + 1
+                    FROM closure c
+                    JOIN employees e ON e.manager_id = c.descendant_id
+                )
+                SELECT ancestor_id, descendant_id, depth
+                FROM closure
+                """);
+    }
+}
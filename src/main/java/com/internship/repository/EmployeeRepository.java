@@ -1,127 +1,215 @@
 package com.internship.repository;
 
+import com.internship.dto.EmployeeAmountDtoInterface;
 import com.internship.dto.EmployeeDtoInterface;
+import com.internship.dto.EmployeeManagerDtoInterface;
+import com.internship.dto.EmployeeVersionDtoInterface;
+import com.internship.dto.IdRangeDtoInterface;
+import com.internship.dto.PayrollEmployeeDtoInterface;
 import com.internship.entity.Employee;
-import org.springframework.data.jpa.repository.EntityGraph;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.Set;
 
 public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+    // locks the row and increases its version right away, even if the salary itself doesn't change
+    @Lock(LockModeType.PESSIMISTIC_FORCE_INCREMENT)
+    @Query("SELECT e FROM Employee e WHERE e.id = :id")
+    Optional<Employee> findByIdForUpdate(@Param("id") Long id);
+
+    // locks the row until commit, its version is only increased if the employee itself changes. The update response
+    // lists the expertises, so they are fetched with the employee and its eager relations
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("""
+            SELECT e FROM Employee e
+            JOIN FETCH e.department
+            JOIN FETCH e.team
+            LEFT JOIN FETCH e.manager
+            LEFT JOIN FETCH e.expertises
+            WHERE e.id = :id
+            """)
+    Optional<Employee> findByIdLocked(@Param("id") Long id);
+
+    @Query("SELECT e.version FROM Employee e WHERE e.id = :id")
+    Optional<Long> findVersionById(@Param("id") Long id);
+
+    @Query(
+            value = """
+                    SELECT id AS id, version AS version
+                    FROM employees
+                    WHERE team_id = :teamId AND id > :afterId
+                    ORDER BY id
+                    LIMIT :limit
+                    """,
+            nativeQuery = true
+    )
+    List<EmployeeVersionDtoInterface> getTeamMemberVersions(@Param("teamId") Long teamId,
+                                                            @Param("afterId") Long afterId,
+                                                            @Param("limit") int limit);
+
     @Modifying(clearAutomatically = true, flushAutomatically = true)
-    @Query("UPDATE Employee AS e SET e.manager.id = :newManager WHERE e.manager.id = :oldManager")
+    @Query("""
+            UPDATE Employee AS e SET e.manager.id = :newManager, e.version = e.version + 1
+            WHERE e.manager.id = :oldManager
+            """)
     void reassignManager(@Param("oldManager") Long oldManager,
                          @Param("newManager") Long newManager);
 
+    // separator of the expertise names in EMPLOYEE_DTO_SELECT, unlike a comma it is never part of a name
+    String EXPERTISE_SEPARATOR = "\u001F";
+
+    // columns of EmployeeDtoInterface, the expertises of each employee are concatenated in one column
+    String EMPLOYEE_DTO_SELECT = """
+            SELECT
+                e.id AS id,
+                e.first_name AS firstName,
+                e.last_name AS lastName,
+                e.national_id AS nationalId,
+                e.degree AS degree,
+                e.past_experience_year AS pastExperienceYear,
+                e.joined_date AS joinedDate,
+                e.date_of_birth AS dateOfBirth,
+                e.graduation_date AS graduationDate,
+                e.gender AS gender,
+                e.gross_salary AS grossSalary,
+                e.department_id AS departmentId,
+                e.team_id AS teamId,
+                e.manager_id AS managerId,
+                GROUP_CONCAT(ex.name ORDER BY ex.name SEPARATOR '\u001F') AS expertises
+            FROM employees e
+            LEFT JOIN employee_expertise ee ON e.id = ee.employee_id
+            LEFT JOIN expertises ex ON ee.expertise_id = ex.id
+            """;
+
+    String EMPLOYEE_DTO_GROUP_BY = """
+            GROUP BY
+                e.id,
+                e.first_name,
+                e.last_name,
+                e.national_id,
+                e.degree,
+                e.past_experience_year,
+                e.joined_date,
+                e.date_of_birth,
+                e.graduation_date,
+                e.gender,
+                e.gross_salary,
+                e.department_id,
+                e.team_id,
+                e.manager_id
+            """;
+
+    // every employee under the manager at any depth comes from the employee_hierarchy closure table,
+    // the pages are walked in employee id order so each one starts right after the last id of the previous one
+    @Query(
+            value = EMPLOYEE_DTO_SELECT + """
+                    JOIN employee_hierarchy h ON h.descendant_id = e.id
+                    WHERE h.ancestor_id = :managerId AND h.depth > 0 AND h.descendant_id > :afterId
+                    """ + EMPLOYEE_DTO_GROUP_BY + """
+                    ORDER BY e.id
+                    LIMIT :limit
+                    """,
+            nativeQuery = true
+    )
+    List<EmployeeDtoInterface> getEmployeesUnderManager(@Param("managerId") Long managerId,
+                                                        @Param("afterId") Long afterId,
+                                                        @Param("limit") int limit);
+
+    @Query(
+            value = EMPLOYEE_DTO_SELECT + """
+                    WHERE e.manager_id = :managerId AND e.id > :afterId
+                    """ + EMPLOYEE_DTO_GROUP_BY + """
+                    ORDER BY e.id
+                    LIMIT :limit
+                    """,
+            nativeQuery = true
+    )
+    List<EmployeeDtoInterface> getDirectSubordinates(@Param("managerId") Long managerId,
+                                                     @Param("afterId") Long afterId,
+                                                     @Param("limit") int limit);
+
+    @Query(
+            value = EMPLOYEE_DTO_SELECT + """
+                    WHERE e.team_id = :teamId AND e.id > :afterId
+                    """ + EMPLOYEE_DTO_GROUP_BY + """
+                    ORDER BY e.id
+                    LIMIT :limit
+                    """,
+            nativeQuery = true
+    )
+    List<EmployeeDtoInterface> getTeamMembers(@Param("teamId") Long teamId,
+                                              @Param("afterId") Long afterId,
+                                              @Param("limit") int limit);
+
+    // the whole EmployeeResponse of one employee in a single query, an unknown id returns no row
+    @Query(
+            value = EMPLOYEE_DTO_SELECT + """
+                    WHERE e.id = :id
+                    """ + EMPLOYEE_DTO_GROUP_BY,
+            nativeQuery = true
+    )
+    Optional<EmployeeDtoInterface> findEmployeeDtoById(@Param("id") Long id);
+
+    @Query(
+            value = EMPLOYEE_DTO_SELECT + """
+                    WHERE e.id IN (:ids)
+                    """ + EMPLOYEE_DTO_GROUP_BY + """
+                    ORDER BY e.id
+                    """,
+            nativeQuery = true
+    )
+    List<EmployeeDtoInterface> findEmployeesByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.id FROM Employee e WHERE e.id IN :ids")
+    Set<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.nationalId FROM Employee e WHERE e.nationalId IN :nationalIds")
+    Set<String> findExistingNationalIds(@Param("nationalIds") Collection<String> nationalIds);
+
+    @Query("SELECT DISTINCT e.team.id FROM Employee e WHERE e.id IN :ids")
+    Set<Long> findTeamIdsByIds(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT DISTINCT e.team.id FROM Employee e WHERE e.manager.id = :managerId")
+    Set<Long> findTeamIdsByManagerId(@Param("managerId") Long managerId);
+
+    @Query("SELECT e.id AS employeeId, e.grossSalary AS amount FROM Employee e WHERE e.id IN :ids")
+    List<EmployeeAmountDtoInterface> findGrossSalaries(@Param("ids") Collection<Long> ids);
+
+    // the rows are locked in id order, so concurrent bulk changes can't deadlock each other
     @Query(
             value = """
-                    WITH RECURSIVE employee_hierarchy (
-                        id,
-                        first_name,
-                        last_name,
-                        national_id,
-                        degree,
-                        past_experience_year,
-                        joined_date,
-                        date_of_birth,
-                        graduation_date,
-                        gender,
-                        department_id,
-                        team_id,
-                        manager_id
-                    ) AS (
-                        SELECT
-                            id,
-                            first_name,
-                            last_name,
-                            national_id,
-                            degree,
-                            past_experience_year,
-                            joined_date,
-                            date_of_birth,
-                            graduation_date,
-                            gender,
-                            department_id,
-                            team_id,
-                            manager_id
-                        FROM employees
-                        WHERE id = :managerId
-                    
-                        UNION ALL
-                    
-                        SELECT
-                            b.id,
-                            b.first_name,
-                            b.last_name,
-                            b.national_id,
-                            b.degree,
-                            b.past_experience_year,
-                            b.joined_date,
-                            b.date_of_birth,
-                            b.graduation_date,
-                            b.gender,
-                            b.department_id,
-                            b.team_id,
-                            b.manager_id
-                        FROM employee_hierarchy a
-                        JOIN employees b ON a.id = b.manager_id
-                    )
-                    SELECT
-                        eh.id AS id,
-                        eh.first_name AS firstName,
-                        eh.last_name AS lastName,
-                        eh.national_id AS nationalId,
-                        eh.degree AS degree,
-                        eh.past_experience_year AS pastExperienceYear,
-                        eh.joined_date AS joinedDate,
-                        eh.date_of_birth AS dateOfBirth,
-                        eh.graduation_date AS graduationDate,
-                        eh.gender AS gender,
-                        es.gross_salary AS grossSalary,
-                        eh.department_id AS departmentId,
-                        eh.team_id AS teamId,
-                        eh.manager_id AS managerId,
-                        GROUP_CONCAT(ex.name ORDER BY ex.name SEPARATOR ',') AS expertises
-                    FROM employee_hierarchy eh
-                    -- Join to get latest salary
-                    LEFT JOIN (
-                        SELECT s1.employee_id, s1.gross_salary
-                        FROM employee_salaries s1
-                        INNER JOIN (
-                            SELECT employee_id, MAX(creation_date) AS max_date
-                            FROM employee_salaries
-                            GROUP BY employee_id
-                        ) s2 ON s1.employee_id = s2.employee_id AND s1.creation_date = s2.max_date
-                    ) es ON eh.id = es.employee_id
-                    LEFT JOIN employee_expertise ee ON eh.id = ee.employee_id
-                    LEFT JOIN expertises ex ON ee.expertise_id = ex.id
-                    WHERE eh.id != :managerId
-                    GROUP BY
-                        eh.id,
-                        eh.first_name,
-                        eh.last_name,
-                        eh.national_id,
-                        eh.degree,
-                        eh.past_experience_year,
-                        eh.joined_date,
-                        eh.date_of_birth,
-                        eh.graduation_date,
-                        eh.gender,
-                        es.gross_salary,
-                        eh.department_id,
-                        eh.team_id,
-                        eh.manager_id;
+                    SELECT id AS employeeId, gross_salary AS amount
+                    FROM employees
+                    WHERE id IN (:ids)
+                    ORDER BY id
+                    FOR UPDATE
                     """,
             nativeQuery = true
     )
-    List<EmployeeDtoInterface> getAllEmployeesUnderManager(@Param("managerId") Long managerId);
+    List<EmployeeAmountDtoInterface> findGrossSalariesForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Query("SELECT e.id AS id, m.id AS managerId FROM Employee e LEFT JOIN e.manager m")
+    List<EmployeeManagerDtoInterface> findAllManagerLinks();
 
-    @EntityGraph(attributePaths = {"department", "team", "expertises"})
-    List<Employee> findByManagerId(Long managerId);
+    @Query("SELECT MIN(e.id) AS minId, MAX(e.id) AS maxId FROM Employee e")
+    IdRangeDtoInterface findIdRange();
 
-    @EntityGraph(attributePaths = {"department", "team", "expertises"})
-    List<Employee> findByTeamId(Long teamId);
+    @Query("""
+            SELECT e.id AS id, e.joinedDate AS joinedDate, e.grossSalary AS grossSalary
+            FROM Employee e
+            WHERE e.id > :lastId AND e.id <= :toId
+            ORDER BY e.id
+            """)
+    List<PayrollEmployeeDtoInterface> findPayrollChunk(@Param("lastId") Long lastId,
+                                                       @Param("toId") Long toId,
+                                                       Limit limit);
 }
@@ -4,10 +4,7 @@ import com.internship.entity.Expertise;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 import java.util.List;
-import java.util.Optional;
 
 public interface ExpertiseRepository extends JpaRepository<Expertise, Long> {
-    Optional<Expertise> findExpertiseByName(String expertiseName);
-
     List<Expertise> findAllExpertiseByNameIn(List<String> expertiseNames);
 }
\ No newline at end of file
@@ -0,0 +1,86 @@
+package com.internship.repository;
+
+import com.internship.dto.EmployeeLeaveCount;
+import com.internship.dto.EmployeeLeaveCountDtoInterface;
+import com.internship.entity.Leave;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// The employee_leave_balances counters, one row per employee and year with the leave days taken in each month.
+@Repository
+@RequiredArgsConstructor
+public class LeaveBalanceRepository {
+    private static final int MONTHS = 12;
+    private static final String ADD_LEAVES_SQL = """
+            INSERT INTO employee_leave_balances (employee_id, leave_year, days_taken, %s)
+            VALUES (?, ?, ?, %s)
+            ON DUPLICATE KEY UPDATE days_taken = days_taken + ?, %s
+            """.formatted(
+            monthColumns().collect(Collectors.joining(", ")),
+            monthColumns().map(column -> "?").collect(Collectors.joining(", ")),
+            monthColumns().map(column -> column + " = " + column + " + ?").collect(Collectors.joining(", ")));
+    private final JdbcTemplate jdbcTemplate;
+
+    // adds the leaves to the counters of their employee and year, the rows are created by the first leave
+    public void addLeaves(List<Leave> leaves) {
+        // employee -> year -> days taken in each month, sorted so concurrent requests lock the rows in the same order
+        Map<Long, Map<Integer, int[]>> days = new TreeMap<>();
+        for (Leave leave : leaves) {
+            LocalDate leaveDate = leave.getLeaveDate();
+            days.computeIfAbsent(leave.getEmployee().getId(), employeeId -> new TreeMap<>())
+                    .computeIfAbsent(leaveDate.getYear(), year -> new int[MONTHS])[leaveDate.getMonthValue() - 1]++;
+        }
+        addDays(days);
+    }
+
+    // adds the days taken by the employee in each month of the given years
+    public void addDays(Long employeeId, Map<Integer, int[]> monthDaysByYear) {
+        addDays(Map.of(employeeId, new TreeMap<>(monthDaysByYear)));
+    }
+
+    private void addDays(Map<Long, Map<Integer, int[]>> days) {
+        List<Object[]> rows = new ArrayList<>();
+        days.forEach((employeeId, years) -> years.forEach((year, monthDays) -> {
+            int daysTaken = IntStream.of(monthDays).sum();
+            List<Object> row = new ArrayList<>(List.of(employeeId, year, daysTaken));
+            IntStream.of(monthDays).forEach(row::add);
+            row.add(daysTaken);
+            IntStream.of(monthDays).forEach(row::add);
+            rows.add(row.toArray());
+        }));
+        if (!rows.isEmpty()) {
+            jdbcTemplate.batchUpdate(ADD_LEAVES_SQL, rows);
+        }
+    }
+
+    // the days of the year taken before the month and inside it, for the employees with leaves that year
+    public List<EmployeeLeaveCountDtoInterface> countLeavesPerEmployee(int year, int month, Long fromId, Long toId) {
+        String takenBeforeMonth = month == 1 ? "0" : monthColumns().limit(month - 1)
+                .collect(Collectors.joining(" + "));
+        return jdbcTemplate.query("""
+                        SELECT employee_id, %s AS taken_before_month, %s AS taken_in_month
+                        FROM employee_leave_balances
+                        WHERE leave_year = ? AND employee_id BETWEEN ? AND ?
+                        """.formatted(takenBeforeMonth, monthColumn(month)),
+                (rs, rowNum) -> new EmployeeLeaveCount(rs.getLong(1), rs.getLong(2), rs.getLong(3)),
+                year, fromId, toId);
+    }
+
+    private static Stream<String> monthColumns() {
+        return IntStream.rangeClosed(1, MONTHS).mapToObj(LeaveBalanceRepository::monthColumn);
+    }
+
+    private static String monthColumn(int month) {
+        return "month_" + month + "_days";
+    }
+}
@@ -0,0 +1,20 @@
+package com.internship.repository;
+
+import com.internship.entity.LeaveRange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface LeaveRangeRepository extends JpaRepository<LeaveRange, Long> {
+    // two ranges overlap when each one starts before the other one ends
+    @Query("""
+            SELECT COUNT(r) > 0
+            FROM LeaveRange r
+            WHERE r.employee.id = :employeeId AND r.startDate <= :endDate AND r.endDate >= :startDate
+            """)
+    boolean existsOverlapping(@Param("employeeId") Long employeeId,
+                              @Param("startDate") LocalDate startDate,
+                              @Param("endDate") LocalDate endDate);
+}
@@ -12,4 +12,6 @@ public interface LeaveRepository extends JpaRepository<Leave, Long> {
             LocalDate start,
             LocalDate end
     );
-}
\ No newline at end of file
+
+    boolean existsByEmployeeIdAndLeaveDateBetween(Long employeeId, LocalDate start, LocalDate end);
+}
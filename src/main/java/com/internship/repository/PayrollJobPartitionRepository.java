@@ -0,0 +1,11 @@
+package com.internship.repository;
+
+import com.internship.entity.PayrollJobPartition;
+import com.internship.enums.PayrollJobStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PayrollJobPartitionRepository extends JpaRepository<PayrollJobPartition, Long> {
+    List<PayrollJobPartition> findByJobIdAndStatusNotOrderByRangeStartAsc(Long jobId, PayrollJobStatus status);
+}
@@ -0,0 +1,34 @@
+package com.internship.repository;
+
+import com.internship.entity.PayrollJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+public interface PayrollJobRepository extends JpaRepository<PayrollJob, Long> {
+    Optional<PayrollJob> findByPayrollYearAndPayrollMonth(Integer payrollYear, Integer payrollMonth);
+
+    // partitions commit concurrently, so the counter is incremented in the database. The update time tells the
+    // other runs that the job is still making progress
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE PayrollJob j SET j.processedEmployees = j.processedEmployees + :count, j.updatedAt = :now
+            WHERE j.id = :id
+            """)
+    void addProcessedEmployees(@Param("id") Long id, @Param("count") Integer count, @Param("now") LocalDateTime now);
+
+    // a failed job, or a running one not updated since staleBefore, is set back to running. The condition is checked
+    // by the update itself, so when two runs claim the same job only one of them updates it
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("""
+            UPDATE PayrollJob j SET j.status = com.internship.enums.PayrollJobStatus.RUNNING, j.updatedAt = :now
+            WHERE j.id = :id
+              AND (j.status = com.internship.enums.PayrollJobStatus.FAILED
+                   OR (j.status = com.internship.enums.PayrollJobStatus.RUNNING AND j.updatedAt < :staleBefore))
+            """)
+    int claim(@Param("id") Long id, @Param("now") LocalDateTime now, @Param("staleBefore") LocalDateTime staleBefore);
+}
@@ -2,6 +2,20 @@ package com.internship.repository;
 
 import com.internship.entity.Payroll;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Set;
 
 public interface PayrollRepository extends JpaRepository<Payroll, Long> {
+    @Query("""
+            SELECT p.employee.id
+            FROM Payroll p
+            WHERE p.payrollYear = :year AND p.payrollMonth = :month
+              AND p.employee.id BETWEEN :fromId AND :toId
+            """)
+    Set<Long> findEmployeeIdsWithPayroll(@Param("year") Integer year,
+                                         @Param("month") Integer month,
+                                         @Param("fromId") Long fromId,
+                                         @Param("toId") Long toId);
 }
@@ -1,7 +1,15 @@
 package com.internship.repository;
 
+import com.internship.config.CacheConfig;
 import com.internship.entity.Team;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.jpa.repository.JpaRepository;
 
+import java.util.Optional;
+
 public interface TeamRepository extends JpaRepository<Team, Long> {
+    // teams are almost never changed, missing ids are not cached
+    @Override
+    @Cacheable(cacheNames = CacheConfig.TEAMS_CACHE, unless = "#result == null")
+    Optional<Team> findById(Long id);
 }
@@ -0,0 +1,33 @@
+package com.internship.scheduler;
+
+import com.internship.service.DatasetGenerator;
+import com.internship.service.SqlMetrics;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.env.Environment;
+import org.springframework.core.env.Profiles;
+import org.springframework.stereotype.Component;
+
+@Slf4j
+@Component
+@AllArgsConstructor
+public class DatasetGeneratorRunner implements ApplicationRunner {
+    private final DatasetGenerator datasetGenerator;
+    private final Environment environment;
+    private final SqlMetrics sqlMetrics;
+
+    // start the application with --generate-dataset or the generate-dataset profile to fill an empty database
+    // with the synthetic dataset configured by the dataset-generator.* properties
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("generate-dataset") || environment.acceptsProfiles(Profiles.of("generate-dataset"))) {
+            sqlMetrics.runJob("generate-dataset", () -> {
+                long start = System.nanoTime();
+                int employees = datasetGenerator.generate();
+                log.info("Generated a dataset of {} employees in {} s", employees, (System.nanoTime() - start) / 1e9);
+            });
+        }
+    }
+}
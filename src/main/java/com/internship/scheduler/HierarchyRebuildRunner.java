@@ -0,0 +1,23 @@
+package com.internship.scheduler;
+
+import com.internship.service.EmployeeHierarchyService;
+import com.internship.service.SqlMetrics;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+@Component
+@AllArgsConstructor
+public class HierarchyRebuildRunner implements ApplicationRunner {
+    private final EmployeeHierarchyService employeeHierarchyService;
+    private final SqlMetrics sqlMetrics;
+
+    // start the application with --rebuild-hierarchy to recompute the employee_hierarchy table from manager_id
+    @Override
+    public void run(ApplicationArguments args) {
+        if (args.containsOption("rebuild-hierarchy")) {
+            sqlMetrics.runJob("rebuild-hierarchy", employeeHierarchyService::rebuild);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.internship.scheduler;
 
 import com.internship.service.PayrollService;
+import com.internship.service.SqlMetrics;
 import lombok.AllArgsConstructor;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
@@ -9,10 +10,11 @@ import org.springframework.stereotype.Component;
 @AllArgsConstructor
 public class Scheduler {
     private final PayrollService payrollService;
+    private final SqlMetrics sqlMetrics;
 
     // At 12:00 AM, on day 1 of the month
     @Scheduled(cron = "0 0 0 1 * ?")
     public void startGenerationPayroll() {
-        payrollService.generatePayroll();
+        sqlMetrics.runJob("payroll", payrollService::generatePayroll);
     }
 }
@@ -28,7 +28,9 @@ public class BonusService {
     @ValidateBonusDate
     public CreateBonusResponse addBonus(final CreateBonusRequest request) {
         Long id = request.getEmployeeId();
-        Employee employee = employeeRepository.findById(id)
+        // the new rows are part of the employee, so its version is increased with them. The row stays locked until
+        // commit, so concurrent changes of the same employee wait for each other instead of failing
+        Employee employee = employeeRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
                         "Employee not found with id: " + id));
 
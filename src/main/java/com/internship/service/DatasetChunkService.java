@@ -0,0 +1,37 @@
+package com.internship.service;
+
+import com.internship.entity.Employee;
+import com.internship.entity.Leave;
+import com.internship.repository.BatchInsertRepository;
+import com.internship.repository.LeaveBalanceRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DatasetChunkService {
+    private final BatchInsertRepository batchInsertRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final EmployeeHierarchyService employeeHierarchyService;
+
+    // the employees get their ids from the first insert, the other rows reference them through the entities
+    @Transactional
+    public void insertChunk(List<GeneratedEmployee> chunk) {
+        List<Employee> employees = chunk.stream().map(GeneratedEmployee::employee).toList();
+        batchInsertRepository.insertEmployees(employees);
+        batchInsertRepository.insertEmployeeExpertises(employees);
+        employeeHierarchyService.addEmployees(employees);
+        batchInsertRepository.insertEmployeeSalaries(chunk.stream()
+                .flatMap(generated -> generated.salaries().stream())
+                .toList());
+        List<Leave> leaves = chunk.stream().flatMap(generated -> generated.leaves().stream()).toList();
+        batchInsertRepository.insertLeaves(leaves);
+        leaveBalanceRepository.addLeaves(leaves);
+        batchInsertRepository.insertBonuses(chunk.stream()
+                .flatMap(generated -> generated.bonuses().stream())
+                .toList());
+    }
+}
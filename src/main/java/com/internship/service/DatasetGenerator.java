@@ -0,0 +1,206 @@
+package com.internship.service;
+
+import com.internship.config.DatasetGeneratorProperties;
+import com.internship.entity.*;
+import com.internship.enums.Degree;
+import com.internship.enums.Gender;
+import com.internship.repository.DepartmentRepository;
+import com.internship.repository.EmployeeRepository;
+import com.internship.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.IntStream;
+
+import static com.internship.enums.SalaryReason.INITIAL_BASE_SALARY;
+import static com.internship.enums.SalaryReason.SALARY_RAISED;
+
+// Fills an empty schema with a synthetic organisation: a manager tree with the configured fan-out and depth,
+// and the salary history, leaves and monthly bonuses of every employee over the last history years.
+// All the values come from one Random seeded with dataset-generator.seed and are drawn in insertion order,
+// so the same settings always give the same rows and ids.
+@Service
+@RequiredArgsConstructor
+public class DatasetGenerator {
+    private static final int MIN_SALARY_CENTS = 300_000;
+    private static final int MAX_SALARY_CENTS = 3_000_000;
+    private static final int MIN_BONUS_CENTS = 10_000;
+    private static final int MAX_BONUS_CENTS = 500_000;
+    private static final int MIN_RAISE_PERCENT = 2;
+    private static final int MAX_RAISE_PERCENT = 10;
+    private final DatasetGeneratorProperties properties;
+    private final DepartmentRepository departmentRepository;
+    private final TeamRepository teamRepository;
+    private final EmployeeRepository employeeRepository;
+    private final ExpertiseService expertiseService;
+    private final DatasetChunkService datasetChunkService;
+
+    public int generate() {
+        if (employeeRepository.count() > 0) {
+            throw new IllegalStateException("The dataset can only be generated in an empty database");
+        }
+        Random random = new Random(properties.getSeed());
+        LocalDate endDate = properties.getEndDate();
+        List<Department> departments = departmentRepository.saveAll(
+                IntStream.rangeClosed(1, properties.getDepartments())
+                        .mapToObj(i -> Department.builder().name("Department " + i).build())
+                        .toList());
+        List<Team> teams = teamRepository.saveAll(IntStream.rangeClosed(1, properties.getTeams())
+                .mapToObj(i -> Team.builder().name("Team " + i).build())
+                .toList());
+        List<Expertise> expertises = expertiseService.resolveExpertises(
+                IntStream.rangeClosed(1, properties.getExpertises())
+                        .mapToObj(i -> "Expertise " + i)
+                        .toList());
+
+        // the tree is generated level by level, each level is inserted once its managers have their ids
+        int fanOut = fanOut();
+        List<Employee> managers = List.of();
+        int generated = 0;
+        for (int depth = 0; depth <= properties.getMaxDepth() && generated < properties.getEmployees(); depth++) {
+            int remaining = properties.getEmployees() - generated;
+            int levelSize = depth == 0 ? 1 : (int) Math.min(remaining, (long) managers.size() * fanOut);
+            List<Employee> level = new ArrayList<>(levelSize);
+            for (int from = 0; from < levelSize; from += properties.getChunkSize()) {
+                List<GeneratedEmployee> chunk = new ArrayList<>();
+                for (int i = from; i < Math.min(levelSize, from + properties.getChunkSize()); i++) {
+                    // the subordinates are spread evenly over the managers of the previous level
+                    Employee manager = depth == 0 ? null : managers.get(i % managers.size());
+                    chunk.add(generateEmployee(generated + i, manager, random, endDate, departments, teams,
+                            expertises));
+                }
+                datasetChunkService.insertChunk(chunk);
+                chunk.forEach(generatedEmployee -> level.add(generatedEmployee.employee()));
+            }
+            generated += levelSize;
+            managers = level;
+        }
+        return generated;
+    }
+
+    // the configured fan-out, raised to the smallest one that fits all the employees in max-depth levels, so every
+    // manager has the same number of subordinates instead of the last level taking all the remaining employees
+    private int fanOut() {
+        int fanOut = Math.max(1, properties.getFanOut());
+        while (properties.getMaxDepth() > 0 && treeSize(fanOut) < properties.getEmployees()) {
+            fanOut++;
+        }
+        return fanOut;
+    }
+
+    private long treeSize(int fanOut) {
+        long levelSize = 1;
+        long treeSize = 1;
+        for (int depth = 1; depth <= properties.getMaxDepth() && treeSize < properties.getEmployees(); depth++) {
+            levelSize *= fanOut;
+            treeSize += levelSize;
+        }
+        return treeSize;
+    }
+
+    private GeneratedEmployee generateEmployee(int index, Employee manager, Random random, LocalDate endDate,
+                                               List<Department> departments, List<Team> teams,
+                                               List<Expertise> expertises) {
+        // graduated at 21 or 22 and at least one year before the end date
+        LocalDate dateOfBirth = endDate.minusYears(23 + random.nextInt(40)).minusDays(random.nextInt(365));
+        LocalDate graduationDate = dateOfBirth.plusYears(21 + random.nextInt(2));
+        LocalDate joinedDate = randomDate(graduationDate, endDate, random);
+        Employee employee = Employee.builder()
+                .firstName("First" + index)
+                .lastName("Last" + index)
+                .nationalId(String.format("%014d", index + 1))
+                .degree(Degree.values()[random.nextInt(Degree.values().length)])
+                .pastExperienceYear(random.nextInt(5))
+                .joinedDate(joinedDate)
+                .dateOfBirth(dateOfBirth)
+                .graduationDate(graduationDate)
+                .gender(Gender.values()[random.nextInt(Gender.values().length)])
+                .department(departments.get(random.nextInt(departments.size())))
+                .team(teams.get(random.nextInt(teams.size())))
+                .manager(manager)
+                .expertises(randomExpertises(expertises, random))
+                .build();
+
+        // the history starts when the employee joined, or at the start of the history years
+        LocalDate historyStart = joinedDate.isAfter(endDate.minusYears(properties.getHistoryYears()))
+                ? joinedDate : endDate.minusYears(properties.getHistoryYears());
+        List<EmployeeSalary> salaries = generateSalaries(employee, historyStart, endDate, random);
+        employee.setGrossSalary(salaries.getLast().getGrossSalary());
+        return new GeneratedEmployee(employee, salaries, generateLeaves(employee, historyStart, endDate, random),
+                generateBonuses(employee, historyStart, endDate, random));
+    }
+
+    private List<EmployeeSalary> generateSalaries(Employee employee, LocalDate startDate, LocalDate endDate,
+                                                  Random random) {
+        List<EmployeeSalary> salaries = new ArrayList<>();
+        BigDecimal grossSalary = BigDecimal.valueOf(random.nextInt(MIN_SALARY_CENTS, MAX_SALARY_CENTS), 2);
+        salaries.add(salary(employee, startDate, grossSalary, INITIAL_BASE_SALARY.getMessage()));
+        // the raises are spread evenly between the start and the end of the history
+        long days = ChronoUnit.DAYS.between(startDate, endDate);
+        int changes = (int) Math.round(days / 365.0 * properties.getSalaryChangesPerYear());
+        for (int i = 1; i <= changes; i++) {
+            int raisePercent = random.nextInt(MIN_RAISE_PERCENT, MAX_RAISE_PERCENT + 1);
+            grossSalary = grossSalary.multiply(BigDecimal.valueOf(100 + raisePercent))
+                    .divide(BigDecimal.valueOf(100), 2, RoundingMode.HALF_UP);
+            salaries.add(salary(employee, startDate.plusDays(days * i / (changes + 1)), grossSalary,
+                    SALARY_RAISED.getMessage()));
+        }
+        return salaries;
+    }
+
+    private List<Leave> generateLeaves(Employee employee, LocalDate startDate, LocalDate endDate, Random random) {
+        List<Leave> leaves = new ArrayList<>();
+        WorkingDays.between(startDate, endDate)
+                .filter(date -> random.nextDouble() < properties.getLeaveDensity())
+                .forEach(date -> leaves.add(Leave.builder().leaveDate(date).employee(employee).build()));
+        return leaves;
+    }
+
+    private List<Bonus> generateBonuses(Employee employee, LocalDate startDate, LocalDate endDate, Random random) {
+        List<Bonus> bonuses = new ArrayList<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate));
+             month = month.plusMonths(1)) {
+            if (random.nextDouble() < properties.getMonthlyBonusShare()) {
+                LocalDate from = month.atDay(1).isBefore(startDate) ? startDate : month.atDay(1);
+                LocalDate to = month.atEndOfMonth().isAfter(endDate) ? endDate : month.atEndOfMonth();
+                bonuses.add(new Bonus(randomDate(from, to, random),
+                        BigDecimal.valueOf(random.nextInt(MIN_BONUS_CENTS, MAX_BONUS_CENTS), 2), employee));
+            }
+        }
+        return bonuses;
+    }
+
+    private List<Expertise> randomExpertises(List<Expertise> expertises, Random random) {
+        Set<Expertise> picked = new LinkedHashSet<>();
+        int count = Math.min(properties.getExpertisesPerEmployee(), expertises.size());
+        while (picked.size() < count) {
+            picked.add(expertises.get(random.nextInt(expertises.size())));
+        }
+        return picked.stream().sorted(Comparator.comparing(Expertise::getId)).toList();
+    }
+
+    private static EmployeeSalary salary(Employee employee, LocalDate date, BigDecimal grossSalary, String reason) {
+        return EmployeeSalary.builder()
+                .creationDate(date.atStartOfDay())
+                .grossSalary(grossSalary)
+                .reason(reason)
+                .employee(employee)
+                .build();
+    }
+
+    private static LocalDate randomDate(LocalDate from, LocalDate to, Random random) {
+        long days = ChronoUnit.DAYS.between(from, to);
+        return days <= 0 ? from : from.plusDays(random.nextLong(days + 1));
+    }
+}
@@ -0,0 +1,46 @@
+package com.internship.service;
+
+import com.internship.entity.Employee;
+import com.internship.exception.BusinessException;
+import com.internship.repository.EmployeeHierarchyRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static com.internship.exception.ApiError.HIERARCHY_CYCLE_DETECTED;
+
+@Service
+@RequiredArgsConstructor
+public class EmployeeHierarchyService {
+    private final EmployeeHierarchyRepository employeeHierarchyRepository;
+
+    public void addEmployee(Long employeeId, Long managerId) {
+        employeeHierarchyRepository.insertEmployee(employeeId, managerId);
+    }
+
+    public void addEmployees(List<Employee> employees) {
+        employeeHierarchyRepository.insertEmployees(employees);
+    }
+
+    public void changeManager(Long employeeId, Long managerId) {
+        // an employee can't be managed by someone from its own subtree
+        if (managerId != null && employeeHierarchyRepository.isInSubtree(employeeId, managerId)) {
+            throw new BusinessException(HIERARCHY_CYCLE_DETECTED);
+        }
+        employeeHierarchyRepository.detachSubtree(employeeId);
+        if (managerId != null) {
+            employeeHierarchyRepository.attachSubtree(employeeId, managerId);
+        }
+    }
+
+    public void removeEmployee(Long employeeId) {
+        employeeHierarchyRepository.removeEmployee(employeeId);
+    }
+
+    @Transactional
+    public int rebuild() {
+        return employeeHierarchyRepository.rebuild();
+    }
+}
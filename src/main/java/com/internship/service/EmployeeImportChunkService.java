@@ -0,0 +1,142 @@
+package com.internship.service;
+
+import com.internship.dto.CreateEmployeeRequest;
+import com.internship.dto.EmployeeImportError;
+import com.internship.entity.*;
+import com.internship.event.EmployeeAddedEvent;
+import com.internship.event.TeamMembersChangedEvent;
+import com.internship.mapper.EmployeeMapper;
+import com.internship.repository.BatchInsertRepository;
+import com.internship.repository.DepartmentRepository;
+import com.internship.repository.EmployeeRepository;
+import com.internship.repository.TeamRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.internship.enums.SalaryReason.INITIAL_BASE_SALARY;
+
+@Service
+@RequiredArgsConstructor
+public class EmployeeImportChunkService {
+    private final EmployeeRepository employeeRepository;
+    private final DepartmentRepository departmentRepository;
+    private final TeamRepository teamRepository;
+    private final ExpertiseService expertiseService;
+    private final EmployeeHierarchyService employeeHierarchyService;
+    private final BatchInsertRepository batchInsertRepository;
+    private final EmployeeMapper employeeMapper;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // imports the rows that reference existing data and returns an error for each of the others,
+    // the lookups of the whole chunk are done together and its rows are written with batched inserts
+    @Transactional
+    public List<EmployeeImportError> importChunk(List<EmployeeImportRow> rows) {
+        List<CreateEmployeeRequest> requests = rows.stream().map(EmployeeImportRow::request).toList();
+        Map<Long, Department> departments = departmentRepository
+                .findAllById(collectIds(requests, CreateEmployeeRequest::getDepartmentId)).stream()
+                .collect(Collectors.toMap(Department::getId, Function.identity()));
+        Map<Long, Team> teams = teamRepository
+                .findAllById(collectIds(requests, CreateEmployeeRequest::getTeamId)).stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        Set<Long> managerIds = collectIds(requests, CreateEmployeeRequest::getManagerId);
+        Set<Long> existingManagerIds = managerIds.isEmpty()
+                ? Set.of() : employeeRepository.findExistingIds(managerIds);
+        Set<String> usedNationalIds = new HashSet<>(employeeRepository.findExistingNationalIds(
+                requests.stream().map(CreateEmployeeRequest::getNationalId).collect(Collectors.toSet())));
+
+        List<EmployeeImportError> errors = new ArrayList<>();
+        List<CreateEmployeeRequest> accepted = new ArrayList<>();
+        for (EmployeeImportRow row : rows) {
+            CreateEmployeeRequest request = row.request();
+            String error = null;
+            if (!departments.containsKey(request.getDepartmentId())) {
+                error = "Department not found with id: " + request.getDepartmentId();
+            } else if (!teams.containsKey(request.getTeamId())) {
+                error = "Team not found with id: " + request.getTeamId();
+            } else if (request.getManagerId() != null && !existingManagerIds.contains(request.getManagerId())) {
+                error = "Manager not found with id: " + request.getManagerId();
+            } else if (!usedNationalIds.add(request.getNationalId())) {
+                // either an existing employee or an earlier row of the file has the same national id
+                error = "Employee already exists with national id: " + request.getNationalId();
+            }
+            if (error != null) {
+                errors.add(new EmployeeImportError(row.rowNumber(), error));
+            } else {
+                accepted.add(request);
+            }
+        }
+        if (accepted.isEmpty()) {
+            return errors;
+        }
+
+        Map<String, Expertise> expertises = resolveExpertises(accepted);
+        List<Employee> employees = accepted.stream()
+                .map(request -> employeeMapper.toEmployee(request,
+                        departments.get(request.getDepartmentId()),
+                        teams.get(request.getTeamId()),
+                        getManager(request),
+                        getExpertises(request, expertises)))
+                .toList();
+        batchInsertRepository.insertEmployees(employees);
+        batchInsertRepository.insertEmployeeExpertises(employees);
+        batchInsertRepository.insertEmployeeSalaries(employees.stream()
+                .map(employee -> EmployeeSalary.builder()
+                        .grossSalary(employee.getGrossSalary())
+                        .reason(INITIAL_BASE_SALARY.getMessage())
+                        .employee(employee)
+                        .build())
+                .toList());
+        employeeHierarchyService.addEmployees(employees);
+        for (Employee employee : employees) {
+            Long managerId = employee.getManager() != null ? employee.getManager().getId() : null;
+            eventPublisher.publishEvent(new EmployeeAddedEvent(employee.getId(), managerId));
+        }
+        eventPublisher.publishEvent(
+                new TeamMembersChangedEvent(collectIds(accepted, CreateEmployeeRequest::getTeamId)));
+        return errors;
+    }
+
+    private Set<Long> collectIds(List<CreateEmployeeRequest> requests, Function<CreateEmployeeRequest, Long> getter) {
+        return requests.stream().map(getter).filter(Objects::nonNull).collect(Collectors.toSet());
+    }
+
+    private Employee getManager(CreateEmployeeRequest request) {
+        // only the id of the manager is written, so a reference is enough
+        return request.getManagerId() != null ? employeeRepository.getReferenceById(request.getManagerId()) : null;
+    }
+
+    private Map<String, Expertise> resolveExpertises(List<CreateEmployeeRequest> requests) {
+        List<String> names = requests.stream()
+                .filter(request -> request.getExpertises() != null)
+                .flatMap(request -> request.getExpertises().stream())
+                .filter(name -> !name.isEmpty())
+                .distinct()
+                .toList();
+        // names are matched ignoring case like the expertise names collation
+        Map<String, Expertise> expertises = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        if (!names.isEmpty()) {
+            expertiseService.resolveExpertises(names)
+                    .forEach(expertise -> expertises.put(expertise.getName(), expertise));
+        }
+        return expertises;
+    }
+
+    private List<Expertise> getExpertises(CreateEmployeeRequest request, Map<String, Expertise> expertises) {
+        if (request.getExpertises() == null) {
+            return List.of();
+        }
+        return request.getExpertises().stream()
+                .filter(name -> !name.isEmpty())
+                .map(expertises::get)
+                .filter(Objects::nonNull)
+                .distinct()
+                .sorted(Comparator.comparing(Expertise::getId))
+                .toList();
+    }
+}
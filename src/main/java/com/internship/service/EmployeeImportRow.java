@@ -0,0 +1,6 @@
+package com.internship.service;
+
+import com.internship.dto.CreateEmployeeRequest;
+
+public record EmployeeImportRow(long rowNumber, CreateEmployeeRequest request) {
+}
@@ -0,0 +1,149 @@
+package com.internship.service;
+
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvParser;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.internship.dto.CreateEmployeeRequest;
+import com.internship.dto.EmployeeImportError;
+import com.internship.dto.EmployeeImportResponse;
+import com.internship.exception.BusinessException;
+import com.internship.validation.EmployeeDatesValidator;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class EmployeeImportService {
+    public static final String TEXT_CSV_VALUE = "text/csv";
+    private static final int CHUNK_SIZE = 500;
+    private static final int MAX_REPORTED_ERRORS = 1000;
+    // csv columns are matched by the header names, expertises are separated by ';'
+    private static final CsvMapper CSV_MAPPER = CsvMapper.builder()
+            .addModule(new JavaTimeModule())
+            .enable(CsvParser.Feature.EMPTY_STRING_AS_NULL)
+            .build();
+    private static final CsvSchema CSV_SCHEMA = CSV_MAPPER.schemaFor(CreateEmployeeRequest.class)
+            .withHeader()
+            .withColumnReordering(true)
+            .withArrayElementSeparator(";");
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final EmployeeImportChunkService employeeImportChunkService;
+    private final EmployeeDatesValidator employeeDatesValidator;
+
+    // the upload is read one row at a time and imported in chunks,
+    // so only the current chunk and the reported errors are kept in memory
+    public EmployeeImportResponse importEmployees(InputStream input, MediaType contentType) throws IOException {
+        ImportReport report = new ImportReport();
+        List<EmployeeImportRow> chunk = new ArrayList<>(CHUNK_SIZE);
+        try (MappingIterator<CreateEmployeeRequest> rows = openReader(contentType).readValues(input)) {
+            long rowNumber = 0;
+            while (true) {
+                rowNumber++;
+                CreateEmployeeRequest request;
+                try {
+                    if (!rows.hasNextValue()) {
+                        break;
+                    }
+                    request = rows.nextValue();
+                } catch (JsonParseException ex) {
+                    // the rest of the file can't be read after a syntax error
+                    report.fail(rowNumber, ex.getOriginalMessage());
+                    break;
+                } catch (JsonProcessingException ex) {
+                    report.fail(rowNumber, ex.getOriginalMessage());
+                    continue;
+                }
+                String error = validate(request);
+                if (error != null) {
+                    report.fail(rowNumber, error);
+                    continue;
+                }
+                chunk.add(new EmployeeImportRow(rowNumber, request));
+                if (chunk.size() == CHUNK_SIZE) {
+                    importChunk(chunk, report);
+                    chunk.clear();
+                }
+            }
+        }
+        importChunk(chunk, report);
+        // the errors of a chunk are only known after the validation errors of its later rows
+        report.errors.sort(Comparator.comparingLong(EmployeeImportError::getRowNumber));
+        return EmployeeImportResponse.builder()
+                .totalRows(report.importedRows + report.failedRows)
+                .importedRows(report.importedRows)
+                .failedRows(report.failedRows)
+                .errors(report.errors)
+                .build();
+    }
+
+    private ObjectReader openReader(MediaType contentType) {
+        if (contentType.isCompatibleWith(MediaType.parseMediaType(TEXT_CSV_VALUE))) {
+            return CSV_MAPPER.readerFor(CreateEmployeeRequest.class).with(CSV_SCHEMA);
+        }
+        return objectMapper.readerFor(CreateEmployeeRequest.class);
+    }
+
+    private String validate(CreateEmployeeRequest request) {
+        List<String> violations = validator.validate(request).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .toList();
+        if (!violations.isEmpty()) {
+            return String.join(", ", violations);
+        }
+        try {
+            employeeDatesValidator.validateGraduationAndBirthDate(request.getDateOfBirth(),
+                    request.getGraduationDate());
+        } catch (BusinessException ex) {
+            return ex.getMessage();
+        }
+        return null;
+    }
+
+    private void importChunk(List<EmployeeImportRow> chunk, ImportReport report) {
+        if (chunk.isEmpty()) {
+            return;
+        }
+        List<EmployeeImportError> errors;
+        try {
+            errors = employeeImportChunkService.importChunk(chunk);
+        } catch (DataAccessException ex) {
+            // the chunk is rolled back as a whole, e.g. a national id inserted meanwhile by another request
+            String message = "Chunk rolled back: " + ex.getMostSpecificCause().getMessage();
+            errors = chunk.stream()
+                    .map(row -> new EmployeeImportError(row.rowNumber(), message))
+                    .toList();
+        }
+        report.importedRows += chunk.size() - errors.size();
+        errors.forEach(error -> report.fail(error.getRowNumber(), error.getMessage()));
+    }
+
+    private static final class ImportReport {
+        private final List<EmployeeImportError> errors = new ArrayList<>();
+        private long importedRows;
+        private long failedRows;
+
+        private void fail(long rowNumber, String message) {
+            failedRows++;
+            if (errors.size() < MAX_REPORTED_ERRORS) {
+                errors.add(new EmployeeImportError(rowNumber, message));
+            }
+        }
+    }
+}
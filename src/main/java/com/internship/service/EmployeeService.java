@@ -2,6 +2,10 @@ package com.internship.service;
 
 import com.internship.dto.*;
 import com.internship.entity.*;
+import com.internship.event.EmployeeAddedEvent;
+import com.internship.event.EmployeeDeletedEvent;
+import com.internship.event.EmployeeManagerChangedEvent;
+import com.internship.event.TeamMembersChangedEvent;
 import com.internship.exception.BusinessException;
 import com.internship.mapper.EmployeeMapper;
 import com.internship.mapper.EmployeeSalaryMapper;
@@ -9,29 +13,33 @@ import com.internship.repository.DepartmentRepository;
 import com.internship.repository.EmployeeRepository;
 import com.internship.repository.EmployeeSalaryRepository;
 import com.internship.repository.TeamRepository;
+import com.internship.validation.EmployeeDatesValidator;
 import com.internship.validation.aspect.ValidateCreateRequest;
-import com.internship.validation.aspect.ValidateUpdateRequest;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 
 import static com.internship.enums.SalaryReason.*;
 import static com.internship.exception.ApiError.*;
+import static com.internship.service.EmploymentYears.calculateYearsOfExperience;
+import static com.internship.service.EmploymentYears.getTheNumberOfLeaveDays;
 
 @Service
 @RequiredArgsConstructor
 public class EmployeeService {
-    private static final int MIN_YEARS_FOR_EXTRA_LEAVE = 10;
-    private static final int STANDARD_LEAVE_DAYS = 21;
-    private static final int EXTENDED_LEAVE_DAYS = 30;
-    private static final BigDecimal TAX_REMINDER = BigDecimal.valueOf(0.85);
-    private static final BigDecimal INSURANCE_AMOUNT = BigDecimal.valueOf(500);
+    // ids per query when loading the employees found in the org graph
+    private static final int HYDRATION_BATCH_SIZE = 1000;
     private final EmployeeRepository employeeRepository;
     private final DepartmentRepository departmentRepository;
     private final EmployeeMapper employeeMapper;
@@ -39,6 +47,10 @@ public class EmployeeService {
     private final ExpertiseService expertiseService;
     private final EmployeeSalaryRepository employeeSalaryRepository;
     private final EmployeeSalaryMapper employeeSalaryMapper;
+    private final EmployeeHierarchyService employeeHierarchyService;
+    private final OrgGraphService orgGraphService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EmployeeDatesValidator employeeDatesValidator;
 
     @Transactional
     @ValidateCreateRequest
@@ -58,11 +70,14 @@ public class EmployeeService {
         List<Expertise> expertises = new ArrayList<>();
         if (request.getExpertises() != null) {
             List<String> expertiseNames = removeEmptyNames(request.getExpertises());
-            expertiseService.createNotFoundExpertise(expertiseNames);
-            expertises = expertiseService.getExpertises(expertiseNames);
+            expertises = expertiseService.resolveExpertises(expertiseNames);
         }
         Employee employee = employeeMapper.toEmployee(request, department, team, manager, expertises);
         Employee savedEmployee = employeeRepository.save(employee);
+        Long managerId = manager != null ? manager.getId() : null;
+        employeeHierarchyService.addEmployee(savedEmployee.getId(), managerId);
+        eventPublisher.publishEvent(new EmployeeAddedEvent(savedEmployee.getId(), managerId));
+        eventPublisher.publishEvent(new TeamMembersChangedEvent(List.of(team.getId())));
 
         // insert employee salary in employee-salaries table
         EmployeeSalary employeeSalary = EmployeeSalary.builder()
@@ -83,29 +98,32 @@ public class EmployeeService {
     }
 
     @Transactional
-    @ValidateUpdateRequest
     public EmployeeResponse modifyEmployee(UpdateEmployeeRequest request, Long id) {
-        // check employee with id exists
-        Employee employee = employeeRepository.findById(id)
+        // the row is locked so a leave, bonus or salary change committed meanwhile can't fail the version check
+        Employee employee = employeeRepository.findByIdLocked(id)
                 .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
                         "Employee not found with id: " + id));
+        // the dates missing from the request are taken from the employee loaded above
+        employeeDatesValidator.validateGraduationAndBirthDate(
+                request.getDateOfBirth() != null ? request.getDateOfBirth() : employee.getDateOfBirth(),
+                request.getGraduationDate() != null ? request.getGraduationDate() : employee.getGraduationDate());
+        final Long oldTeamId = employee.getTeam().getId();
 
-        Department department = employee.getDepartment();
+        // the loaded entity is managed, only the changed fields are set and written by dirty checking at commit
         if (request.getDepartmentId() != null) {
-            department = departmentRepository.findById(request.getDepartmentId())
+            employee.setDepartment(departmentRepository.findById(request.getDepartmentId())
                     .orElseThrow(() -> new BusinessException(DEPARTMENT_NOT_FOUND,
-                            "Department not found with id: " + request.getDepartmentId()));
+                            "Department not found with id: " + request.getDepartmentId())));
         }
 
-        Team team = employee.getTeam();
         if (request.getTeamId() != null) {
-            team = teamRepository.findById(request.getTeamId())
+            employee.setTeam(teamRepository.findById(request.getTeamId())
                     .orElseThrow(() -> new BusinessException(TEAM_NOT_FOUND,
-                            "Team not found with id: " + request.getTeamId()));
+                            "Team not found with id: " + request.getTeamId())));
         }
 
-        Employee manager = employee.getManager();
         if (request.getManagerId() != null) {
+            Employee manager = null;
             Optional<Long> managerId = request.getManagerId();
             if (managerId.isPresent()) {
                 if (managerId.get().equals(id)) {
@@ -114,32 +132,34 @@ public class EmployeeService {
                 manager = employeeRepository.findById(managerId.get())
                         .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
                                 "Manager not found with id: " + request.getManagerId()));
-            } else {
-                manager = null;
             }
+            Long oldManagerId = employee.getManager() != null ? employee.getManager().getId() : null;
+            Long newManagerId = manager != null ? manager.getId() : null;
+            if (!Objects.equals(oldManagerId, newManagerId)) {
+                employeeHierarchyService.changeManager(id, newManagerId);
+                eventPublisher.publishEvent(new EmployeeManagerChangedEvent(id, newManagerId));
+            }
+            employee.setManager(manager);
         }
 
-        List<Expertise> expertises = employee.getExpertises();
         if (request.getExpertises() != null) {
             // remove Empty
             List<String> expertiseNames = removeEmptyNames(request.getExpertises());
-            // create expertise if it is not found in database
-            expertiseService.createNotFoundExpertise(expertiseNames);
-            // get all expertise
-            expertises = expertiseService.getExpertises(expertiseNames);
+            // get all expertise, the ones not found in database are created
+            employee.setExpertises(expertiseService.resolveExpertises(expertiseNames));
         }
-        Employee updatedEmployee =
-                buildUpdatedEmployeeFromOldEmployee(employee, request, department, team, manager, expertises);
-        Employee savedEmployee = employeeRepository.saveAndFlush(updatedEmployee);
-        return employeeMapper.toResponse(savedEmployee,
+        applyChangedFields(employee, request);
+        eventPublisher.publishEvent(new TeamMembersChangedEvent(
+                Stream.of(oldTeamId, employee.getTeam().getId()).distinct().toList()));
+        return employeeMapper.toResponse(employee,
                 calculateYearsOfExperience(employee.getPastExperienceYear(), employee.getJoinedDate()),
                 getTheNumberOfLeaveDays(employee.getJoinedDate()));
     }
 
     @Transactional
     public SalaryResponse modifySalary(UpdateSalaryRequest request, Long id) {
-
-        Employee employee = employeeRepository.findById(id)
+        // lock the employee so concurrent salary changes keep the current salary and its history in sync
+        Employee employee = employeeRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
                         "Employee not found with id: " + id));
 
@@ -151,11 +171,14 @@ public class EmployeeService {
                 .build();
 
         EmployeeSalary savedEmployeeSalary = employeeSalaryRepository.save(employeeSalary);
+        employee.setGrossSalary(savedEmployeeSalary.getGrossSalary());
+        eventPublisher.publishEvent(new TeamMembersChangedEvent(List.of(employee.getTeam().getId())));
         return employeeSalaryMapper.toResponse(savedEmployeeSalary);
     }
 
+    @Transactional
     public SalaryResponse raiseSalary(RaiseSalaryRequest request, Long id) {
-        Employee employee = employeeRepository.findById(id)
+        Employee employee = employeeRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
                         "Employee not found with id: " + id));
 
@@ -169,6 +192,8 @@ public class EmployeeService {
                 .build();
 
         EmployeeSalary savedEmployeeSalary = employeeSalaryRepository.save(employeeSalary);
+        employee.setGrossSalary(savedEmployeeSalary.getGrossSalary());
+        eventPublisher.publishEvent(new TeamMembersChangedEvent(List.of(employee.getTeam().getId())));
         return employeeSalaryMapper.toResponse(savedEmployeeSalary);
     }
 
@@ -176,17 +201,23 @@ public class EmployeeService {
         return expertiseNames.stream().filter(name -> !name.isEmpty()).toList();
     }
 
-    @Transactional
     public EmployeeResponse getEmployee(Long id) {
-        Employee employee = employeeRepository.findById(id)
+        // read straight into the response fields, the entity and its relations are not loaded
+        EmployeeDtoInterface employee = employeeRepository.findEmployeeDtoById(id)
                 .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
                         "Employee not found with id: " + id));
 
-        return employeeMapper.toResponse(employee,
+        return employeeMapper.fromInterfaceToResponse(employee,
                 calculateYearsOfExperience(employee.getPastExperienceYear(), employee.getJoinedDate()),
                 getTheNumberOfLeaveDays(employee.getJoinedDate()));
     }
 
+    public long getEmployeeVersion(Long id) {
+        return employeeRepository.findVersionById(id)
+                .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
+                        "Employee not found with id: " + id));
+    }
+
     @Transactional
     public void deleteEmployee(Long id) {
         // check employee with id exists
@@ -198,8 +229,14 @@ public class EmployeeService {
         {
             throw new BusinessException(INVALID_EMPLOYEE_REMOVAL);
         }
+        // the subordinates get a new manager, so their teams change too
+        Set<Long> changedTeamIds = new HashSet<>(employeeRepository.findTeamIdsByManagerId(employee.getId()));
+        changedTeamIds.add(employee.getTeam().getId());
+        employeeHierarchyService.removeEmployee(employee.getId());
         employeeRepository.reassignManager(employee.getId(), manager.getId());
         employeeRepository.delete(employee);
+        eventPublisher.publishEvent(new EmployeeDeletedEvent(employee.getId()));
+        eventPublisher.publishEvent(new TeamMembersChangedEvent(changedTeamIds));
     }
 
     public SalaryDto getEmployeeSalaryInfo(Long id) {
@@ -208,7 +245,7 @@ public class EmployeeService {
                 .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
                         "Employee not found with id: " + id));
 
-        BigDecimal netSalary = employee.getGrossSalary().multiply(TAX_REMINDER).subtract(INSURANCE_AMOUNT);
+        BigDecimal netSalary = PayrollBatch.netSalaryWithoutLeaves(employee.getGrossSalary());
         // prevent negative salaries
         if (netSalary.compareTo(BigDecimal.ZERO) < 0) {
             throw new BusinessException(NEGATIVE_SALARY);
@@ -218,66 +255,82 @@ public class EmployeeService {
                 .netSalary(netSalary).build();
     }
 
-    public List<EmployeeResponse> getEmployeesUnderManagerRecursively(Long managerId) {
+    public List<EmployeeResponse> getEmployeesUnderManagerRecursively(Long managerId, Long afterId, int limit) {
+        if (orgGraphService.isEnabled()) {
+            checkEmployeeInOrgGraph(managerId);
+            return getEmployeesByIds(orgGraphService.getDescendantIds(managerId, afterId, limit));
+        }
         // check employee with id exists
-        employeeRepository.findById(managerId)
-                .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
-                        "Employee not found with id: " + managerId));
+        if (!employeeRepository.existsById(managerId)) {
+            throw new BusinessException(EMPLOYEE_NOT_FOUND, "Employee not found with id: " + managerId);
+        }
+        return toResponses(employeeRepository.getEmployeesUnderManager(managerId, afterId, limit));
+    }
 
-        List<EmployeeDtoInterface> employeesUnderManager = employeeRepository.getAllEmployeesUnderManager(managerId);
-        return employeesUnderManager.stream()
+    public List<EmployeeResponse> getDirectSubordinates(Long managerId, Long afterId, int limit) {
+        if (orgGraphService.isEnabled()) {
+            checkEmployeeInOrgGraph(managerId);
+            return getEmployeesByIds(orgGraphService.getSubordinateIds(managerId, afterId, limit));
+        }
+        // check employee with id exists
+        if (!employeeRepository.existsById(managerId)) {
+            throw new BusinessException(EMPLOYEE_NOT_FOUND, "Employee not found with id: " + managerId);
+        }
+        return toResponses(employeeRepository.getDirectSubordinates(managerId, afterId, limit));
+    }
+
+    public List<EmployeeResponse> toResponses(List<EmployeeDtoInterface> employees) {
+        return employees.stream()
                 .map(employee ->
                         employeeMapper.fromInterfaceToResponse(employee,
                                 calculateYearsOfExperience(employee.getPastExperienceYear(), employee.getJoinedDate()),
                                 getTheNumberOfLeaveDays(employee.getJoinedDate()))).toList();
     }
 
-    public List<EmployeeResponse> getDirectSubordinates(Long managerId) {
-        // check employee with id exists
-        employeeRepository.findById(managerId)
-                .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
-                        "Employee not found with id: " + managerId));
-
-        return employeeRepository.findByManagerId(managerId).stream().map(employee ->
-                employeeMapper.toResponse(employee,
-                        calculateYearsOfExperience(employee.getPastExperienceYear(), employee.getJoinedDate()),
-                        getTheNumberOfLeaveDays(employee.getJoinedDate()))
-        ).toList();
-    }
-
-    public Employee buildUpdatedEmployeeFromOldEmployee(Employee employee, UpdateEmployeeRequest request,
-                                                        Department department, Team team,
-                                                        Employee manager, List<Expertise> expertises) {
-        return Employee.builder()
-                .id(employee.getId())
-                .firstName(request.getFirstName() != null ? request.getFirstName() : employee.getFirstName())
-                .lastName(request.getLastName() != null ? request.getLastName() : employee.getLastName())
-                .nationalId(request.getNationalId() != null ? request.getNationalId() : employee.getNationalId())
-                .degree(request.getDegree() != null ? request.getDegree() : employee.getDegree())
-                .pastExperienceYear(request.getPastExperienceYear() != null
-                        ? request.getPastExperienceYear() : employee.getPastExperienceYear())
-                .joinedDate(request.getJoinedDate() != null ? request.getJoinedDate() : employee.getJoinedDate())
-                .dateOfBirth(request.getDateOfBirth() != null ? request.getDateOfBirth() : employee.getDateOfBirth())
-                .graduationDate(request.getGraduationDate() != null
-                        ? request.getGraduationDate() : employee.getGraduationDate())
-                .gender(request.getGender() != null ? request.getGender() : employee.getGender())
-                .department(department)
-                .team(team)
-                .manager(manager)
-                .expertises(expertises)
-                .build();
+    private void checkEmployeeInOrgGraph(Long employeeId) {
+        if (!orgGraphService.contains(employeeId)) {
+            throw new BusinessException(EMPLOYEE_NOT_FOUND, "Employee not found with id: " + employeeId);
+        }
     }
 
-    public int calculateYearsOfExperience(int pastExperience, LocalDate joinedDate) {
-        int currentYear = LocalDate.now().getYear();
-        int joinedYear = joinedDate.getYear();
-        return pastExperience + (currentYear - joinedYear);
+    private List<EmployeeResponse> getEmployeesByIds(long[] pageIds) {
+        // the page is cut from the sorted ids of the org graph, only its rows are read from the database
+        List<EmployeeResponse> employees = new ArrayList<>(pageIds.length);
+        for (int from = 0; from < pageIds.length; from += HYDRATION_BATCH_SIZE) {
+            List<Long> batch = Arrays.stream(pageIds, from, Math.min(from + HYDRATION_BATCH_SIZE, pageIds.length))
+                    .boxed().toList();
+            employees.addAll(toResponses(employeeRepository.findEmployeesByIds(batch)));
+        }
+        return employees;
     }
 
-    public int getTheNumberOfLeaveDays(LocalDate joinedDate) {
-        int currentYear = LocalDate.now().getYear();
-        int joinedYear = joinedDate.getYear();
-        return currentYear - joinedYear >= MIN_YEARS_FOR_EXTRA_LEAVE
-                ? EXTENDED_LEAVE_DAYS : STANDARD_LEAVE_DAYS;
+    private void applyChangedFields(Employee employee, UpdateEmployeeRequest request) {
+        if (request.getFirstName() != null) {
+            employee.setFirstName(request.getFirstName());
+        }
+        if (request.getLastName() != null) {
+            employee.setLastName(request.getLastName());
+        }
+        if (request.getNationalId() != null) {
+            employee.setNationalId(request.getNationalId());
+        }
+        if (request.getDegree() != null) {
+            employee.setDegree(request.getDegree());
+        }
+        if (request.getPastExperienceYear() != null) {
+            employee.setPastExperienceYear(request.getPastExperienceYear());
+        }
+        if (request.getJoinedDate() != null) {
+            employee.setJoinedDate(request.getJoinedDate());
+        }
+        if (request.getDateOfBirth() != null) {
+            employee.setDateOfBirth(request.getDateOfBirth());
+        }
+        if (request.getGraduationDate() != null) {
+            employee.setGraduationDate(request.getGraduationDate());
+        }
+        if (request.getGender() != null) {
+            employee.setGender(request.getGender());
+        }
     }
 }
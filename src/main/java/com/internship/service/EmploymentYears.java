@@ -0,0 +1,30 @@
+package com.internship.service;
+
+import java.time.LocalDate;
+
+// The years of experience and the yearly leave allowance, both counted in calendar years since the employee joined.
+public final class EmploymentYears {
+    private static final int MIN_YEARS_FOR_EXTRA_LEAVE = 10;
+    private static final int STANDARD_LEAVE_DAYS = 21;
+    private static final int EXTENDED_LEAVE_DAYS = 30;
+
+    private EmploymentYears() {
+    }
+
+    public static int calculateYearsOfExperience(int pastExperience, LocalDate joinedDate) {
+        int currentYear = LocalDate.now().getYear();
+        int joinedYear = joinedDate.getYear();
+        return pastExperience + (currentYear - joinedYear);
+    }
+
+    public static int getTheNumberOfLeaveDays(LocalDate joinedDate) {
+        return getTheNumberOfLeaveDays(joinedDate, LocalDate.now());
+    }
+
+    public static int getTheNumberOfLeaveDays(LocalDate joinedDate, LocalDate today) {
+        int currentYear = today.getYear();
+        int joinedYear = joinedDate.getYear();
+        return currentYear - joinedYear >= MIN_YEARS_FOR_EXTRA_LEAVE
+                ? EXTENDED_LEAVE_DAYS : STANDARD_LEAVE_DAYS;
+    }
+}
@@ -1,32 +1,62 @@
 package com.internship.service;
 
+import com.internship.config.CacheConfig;
 import com.internship.entity.Expertise;
+import com.internship.repository.BatchInsertRepository;
 import com.internship.repository.ExpertiseRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.util.List;
-import java.util.Optional;
+import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class ExpertiseService {
     private final ExpertiseRepository expertiseRepository;
+    private final BatchInsertRepository batchInsertRepository;
+    private final CacheManager cacheManager;
 
+    // returns the expertise of each name ordered by id, the names that don't exist yet are created
     @Transactional
-    public List<Expertise> getExpertises(List<String> expertiseNames) {
-        return expertiseRepository.findAllExpertiseByNameIn(expertiseNames);
-    }
-
-    public void createNotFoundExpertise(List<String> expertiseNames) {
+    public List<Expertise> resolveExpertises(List<String> expertiseNames) {
+        // expertises are cached by name, only the names that aren't cached yet are read from the database
+        Cache cache = getExpertiseCache();
+        Map<Long, Expertise> expertises = new HashMap<>();
+        Set<String> notCachedNames = new LinkedHashSet<>();
         for (String expertiseName : expertiseNames) {
-            Optional<Expertise> optional = expertiseRepository.findExpertiseByName(expertiseName);
-            if (optional.isPresent()) {
-                continue;
+            Expertise cached = cache.get(expertiseName, Expertise.class);
+            if (cached != null) {
+                expertises.put(cached.getId(), cached);
+            } else {
+                notCachedNames.add(expertiseName);
+            }
+        }
+
+        if (!notCachedNames.isEmpty()) {
+            List<Expertise> found = expertiseRepository.findAllExpertiseByNameIn(List.copyOf(notCachedNames));
+            found.forEach(expertise -> notCachedNames.remove(expertise.getName()));
+            if (!notCachedNames.isEmpty()) {
+                batchInsertRepository.insertExpertisesIgnoringDuplicates(List.copyOf(notCachedNames));
+                found = new ArrayList<>(found);
+                found.addAll(expertiseRepository.findAllExpertiseByNameIn(List.copyOf(notCachedNames)));
+            }
+            for (Expertise expertise : found) {
+                cache.put(expertise.getName(), expertise);
+                expertises.putIfAbsent(expertise.getId(), expertise);
             }
-            Expertise exp = Expertise.builder().name(expertiseName).build();
-            expertiseRepository.save(exp);
         }
+        List<Expertise> resolved = new ArrayList<>(expertises.values());
+        resolved.sort(Comparator.comparing(Expertise::getId));
+        return resolved;
+    }
+
+    private Cache getExpertiseCache() {
+        // new expertises are only cached once their transaction is committed
+        return new TransactionAwareCacheDecorator(
+                Objects.requireNonNull(cacheManager.getCache(CacheConfig.EXPERTISES_CACHE)));
     }
-}
\ No newline at end of file
+}
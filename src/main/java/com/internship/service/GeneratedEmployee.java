@@ -0,0 +1,13 @@
+package com.internship.service;
+
+import com.internship.entity.Bonus;
+import com.internship.entity.Employee;
+import com.internship.entity.EmployeeSalary;
+import com.internship.entity.Leave;
+
+import java.util.List;
+
+// an employee of the synthetic dataset with the history rows that reference it
+public record GeneratedEmployee(Employee employee, List<EmployeeSalary> salaries, List<Leave> leaves,
+                                List<Bonus> bonuses) {
+}
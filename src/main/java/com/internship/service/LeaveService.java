@@ -1,12 +1,17 @@
 package com.internship.service;
 
+import com.internship.config.LeaveProperties;
 import com.internship.dto.CreateLeaveRequest;
 import com.internship.dto.CreateLeaveResponse;
 import com.internship.entity.Employee;
 import com.internship.entity.Leave;
+import com.internship.entity.LeaveRange;
 import com.internship.exception.BusinessException;
 import com.internship.mapper.LeaveMapper;
+import com.internship.repository.BatchInsertRepository;
 import com.internship.repository.EmployeeRepository;
+import com.internship.repository.LeaveBalanceRepository;
+import com.internship.repository.LeaveRangeRepository;
 import com.internship.repository.LeaveRepository;
 import com.internship.validation.aspect.ValidateLeaveDates;
 import jakarta.transaction.Transactional;
@@ -14,11 +19,10 @@ import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.ArrayList;
 import java.util.List;
 
+import static com.internship.enums.LeaveStorage.RANGES;
 import static com.internship.exception.ApiError.DUPLICATE_LEAVE_EXCEPTION;
 import static com.internship.exception.ApiError.EMPLOYEE_NOT_FOUND;
 
@@ -27,30 +31,78 @@ import static com.internship.exception.ApiError.EMPLOYEE_NOT_FOUND;
 public class LeaveService {
     private final EmployeeRepository employeeRepository;
     private final LeaveRepository leaveRepository;
+    private final LeaveRangeRepository leaveRangeRepository;
+    private final BatchInsertRepository batchInsertRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
     private final LeaveMapper leaveMapper;
+    private final LeaveProperties leaveProperties;
 
     @Transactional
     @ValidateLeaveDates
     public List<CreateLeaveResponse> addLeave(CreateLeaveRequest request) {
+        return leaveProperties.getStorage() == RANGES ? addLeaveRange(request) : addLeaveDays(request);
+    }
+
+    private List<CreateLeaveResponse> addLeaveDays(CreateLeaveRequest request) {
         Long id = request.getEmployeeId();
-        Employee employee = employeeRepository.findById(id)
+        // the new rows are part of the employee, so its version is increased with them. The row stays locked until
+        // commit, so concurrent changes of the same employee wait for each other instead of failing
+        Employee employee = employeeRepository.findByIdForUpdate(id)
                 .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
                         "Employee not found with id: " + id));
-
-        List<Leave> leaves = new ArrayList<>();
-        LocalDate currentDate = request.getStartDate();
-        while (!currentDate.isAfter(request.getEndDate())) {
-            if (currentDate.getDayOfWeek() != DayOfWeek.FRIDAY && currentDate.getDayOfWeek() != DayOfWeek.SATURDAY) {
-                Leave newLeave = leaveMapper.toEntity(currentDate, employee);
-                leaves.add(newLeave);
-            }
-            currentDate = currentDate.plusDays(1);
+        // leaves stored as ranges before the storage was switched aren't covered by the unique constraint
+        if (leaveRangeRepository.existsOverlapping(id, request.getStartDate(), request.getEndDate())) {
+            throw new BusinessException(DUPLICATE_LEAVE_EXCEPTION);
         }
+
+        List<Leave> leaves = WorkingDays.between(request.getStartDate(), request.getEndDate())
+                .map(date -> leaveMapper.toEntity(date, employee))
+                .toList();
+        int insertedLeaves;
         try {
-            leaveRepository.saveAll(leaves);
+            insertedLeaves = batchInsertRepository.insertLeaves(leaves);
         } catch (DataIntegrityViolationException ex) {
             throw new BusinessException(DUPLICATE_LEAVE_EXCEPTION);
         }
-        return leaves.stream().map(leaveMapper::toResponse).toList();
+        // a range of fridays and saturdays inserts nothing, so there is nothing to read back
+        if (insertedLeaves == 0) {
+            return List.of();
+        }
+        // the yearly counters read by the payroll are updated in the same transaction as the leaves
+        leaveBalanceRepository.addLeaves(leaves);
+        // read the inserted leaves back in one query to return their generated ids
+        return leaveRepository.findByEmployeeIdAndLeaveDateBetweenOrderByLeaveDateAsc(id,
+                        request.getStartDate(), request.getEndDate())
+                .stream().map(leaveMapper::toResponse).toList();
+    }
+
+    private List<CreateLeaveResponse> addLeaveRange(CreateLeaveRequest request) {
+        Long id = request.getEmployeeId();
+        // no constraint can reject overlapping ranges, so the employee is locked while its ranges are checked
+        Employee employee = employeeRepository.findByIdForUpdate(id)
+                .orElseThrow(() -> new BusinessException(EMPLOYEE_NOT_FOUND,
+                        "Employee not found with id: " + id));
+        LocalDate startDate = request.getStartDate();
+        LocalDate endDate = request.getEndDate();
+        if (leaveRangeRepository.existsOverlapping(id, startDate, endDate)
+                || leaveRepository.existsByEmployeeIdAndLeaveDateBetween(id, startDate, endDate)) {
+            throw new BusinessException(DUPLICATE_LEAVE_EXCEPTION);
+        }
+
+        int workingDays = WorkingDays.count(startDate, endDate);
+        if (workingDays == 0) {
+            return List.of();
+        }
+        LeaveRange leaveRange = leaveRangeRepository.save(LeaveRange.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .workingDays(workingDays)
+                .employee(employee)
+                .build());
+        leaveBalanceRepository.addDays(id, WorkingDays.countPerMonth(startDate, endDate));
+        // the same days as the per day storage are returned, all with the id of the range
+        return WorkingDays.between(startDate, endDate)
+                .map(date -> leaveMapper.toResponse(leaveRange, date))
+                .toList();
     }
 }
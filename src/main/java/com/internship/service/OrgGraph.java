@@ -0,0 +1,172 @@
+package com.internship.service;
+
+import com.internship.dto.EmployeeManagerDtoInterface;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Reporting lines of all employees, the subordinates of each manager are kept in a sorted primitive long array.
+// Reads share the lock, so the dashboards can walk the graph concurrently while changes wait for them.
+public class OrgGraph {
+    private static final long[] NO_SUBORDINATES = new long[0];
+    // employee id -> manager id, the value is null for employees without manager
+    private final Map<Long, Long> managers = new HashMap<>();
+    private final Map<Long, long[]> subordinates = new HashMap<>();
+    // sorted descendants of the managers read since the last change, filled by concurrent readers
+    private final Map<Long, long[]> descendants = new ConcurrentHashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public void load(List<EmployeeManagerDtoInterface> links) {
+        Map<Long, List<Long>> subordinateLists = new HashMap<>();
+        for (EmployeeManagerDtoInterface link : links) {
+            if (link.getManagerId() != null) {
+                subordinateLists.computeIfAbsent(link.getManagerId(), id -> new ArrayList<>()).add(link.getId());
+            }
+        }
+        lock.writeLock().lock();
+        try {
+            managers.clear();
+            subordinates.clear();
+            descendants.clear();
+            links.forEach(link -> managers.put(link.getId(), link.getManagerId()));
+            subordinateLists.forEach((managerId, ids) ->
+                    subordinates.put(managerId, ids.stream().mapToLong(Long::longValue).sorted().toArray()));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addEmployee(Long employeeId, Long managerId) {
+        lock.writeLock().lock();
+        try {
+            descendants.clear();
+            managers.put(employeeId, managerId);
+            if (managerId != null) {
+                appendSubordinates(managerId, new long[]{employeeId});
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void changeManager(Long employeeId, Long managerId) {
+        lock.writeLock().lock();
+        try {
+            descendants.clear();
+            Long oldManagerId = managers.put(employeeId, managerId);
+            if (oldManagerId != null) {
+                removeSubordinate(oldManagerId, employeeId);
+            }
+            if (managerId != null) {
+                appendSubordinates(managerId, new long[]{employeeId});
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeEmployee(Long employeeId) {
+        lock.writeLock().lock();
+        try {
+            descendants.clear();
+            Long managerId = managers.remove(employeeId);
+            long[] movedSubordinates = subordinates.remove(employeeId);
+            if (managerId != null) {
+                removeSubordinate(managerId, employeeId);
+            }
+            if (movedSubordinates != null) {
+                for (long subordinateId : movedSubordinates) {
+                    managers.put(subordinateId, managerId);
+                }
+                if (managerId != null) {
+                    appendSubordinates(managerId, movedSubordinates);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean contains(Long employeeId) {
+        lock.readLock().lock();
+        try {
+            return managers.containsKey(employeeId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // the subordinate ids greater than afterId, at most limit of them
+    public long[] getSubordinateIds(Long managerId, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            return page(subordinates.getOrDefault(managerId, NO_SUBORDINATES), afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // the descendant ids greater than afterId, at most limit of them
+    public long[] getDescendantIds(Long managerId, long afterId, int limit) {
+        lock.readLock().lock();
+        try {
+            return page(descendants.computeIfAbsent(managerId, this::findDescendantIds), afterId, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // the page starts after the cursor found by binary search, only the ids of the page are copied
+    private static long[] page(long[] sortedIds, long afterId, int limit) {
+        int position = Arrays.binarySearch(sortedIds, afterId);
+        int from = position >= 0 ? position + 1 : -position - 1;
+        int to = (int) Math.min(sortedIds.length, (long) from + limit);
+        return Arrays.copyOfRange(sortedIds, from, to);
+    }
+
+    private long[] findDescendantIds(Long managerId) {
+        // breadth first walk, the ids found so far are also the queue of the next managers to visit
+        long[] found = subordinates.getOrDefault(managerId, NO_SUBORDINATES).clone();
+        int size = found.length;
+        for (int next = 0; next < size; next++) {
+            long[] children = subordinates.getOrDefault(found[next], NO_SUBORDINATES);
+            if (size + children.length > found.length) {
+                found = Arrays.copyOf(found, Math.max(found.length * 2, size + children.length));
+            }
+            System.arraycopy(children, 0, found, size, children.length);
+            size += children.length;
+        }
+        long[] sorted = Arrays.copyOf(found, size);
+        Arrays.sort(sorted);
+        return sorted;
+    }
+
+    // merges the sorted ids into the sorted subordinates of the manager
+    private void appendSubordinates(Long managerId, long[] ids) {
+        long[] current = subordinates.getOrDefault(managerId, NO_SUBORDINATES);
+        long[] updated = new long[current.length + ids.length];
+        int fromCurrent = 0;
+        int fromIds = 0;
+        for (int index = 0; index < updated.length; index++) {
+            boolean takeCurrent = fromIds == ids.length
+                    || fromCurrent < current.length && current[fromCurrent] < ids[fromIds];
+            updated[index] = takeCurrent ? current[fromCurrent++] : ids[fromIds++];
+        }
+        subordinates.put(managerId, updated);
+    }
+
+    private void removeSubordinate(Long managerId, long employeeId) {
+        long[] current = subordinates.get(managerId);
+        if (current == null) {
+            return;
+        }
+        long[] updated = Arrays.stream(current).filter(id -> id != employeeId).toArray();
+        if (updated.length == 0) {
+            subordinates.remove(managerId);
+        } else {
+            subordinates.put(managerId, updated);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.internship.service;
+
+import com.internship.config.OrgGraphProperties;
+import com.internship.event.EmployeeAddedEvent;
+import com.internship.event.EmployeeDeletedEvent;
+import com.internship.event.EmployeeManagerChangedEvent;
+import com.internship.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Service
+@RequiredArgsConstructor
+public class OrgGraphService {
+    private final OrgGraphProperties orgGraphProperties;
+    private final EmployeeRepository employeeRepository;
+    private final OrgGraph orgGraph = new OrgGraph();
+
+    public boolean isEnabled() {
+        return orgGraphProperties.isEnabled();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void reload() {
+        if (isEnabled()) {
+            orgGraph.load(employeeRepository.findAllManagerLinks());
+        }
+    }
+
+    // the graph only follows committed changes, a rolled back request leaves it untouched
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeAdded(EmployeeAddedEvent event) {
+        if (isEnabled()) {
+            orgGraph.addEmployee(event.employeeId(), event.managerId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeManagerChanged(EmployeeManagerChangedEvent event) {
+        if (isEnabled()) {
+            orgGraph.changeManager(event.employeeId(), event.managerId());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onEmployeeDeleted(EmployeeDeletedEvent event) {
+        if (isEnabled()) {
+            orgGraph.removeEmployee(event.employeeId());
+        }
+    }
+
+    public boolean contains(Long employeeId) {
+        return orgGraph.contains(employeeId);
+    }
+
+    public long[] getSubordinateIds(Long managerId, Long afterId, int limit) {
+        return orgGraph.getSubordinateIds(managerId, afterId, limit);
+    }
+
+    public long[] getDescendantIds(Long managerId, Long afterId, int limit) {
+        return orgGraph.getDescendantIds(managerId, afterId, limit);
+    }
+}
@@ -0,0 +1,101 @@
+package com.internship.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static com.internship.service.PayrollCalculator.WORKING_DAY_IN_MONTH;
+
+// Payroll amounts of a batch of employees computed on long minor units, with one primitive array per column.
+// Salaries, bonuses and leaves deductions are in cents, the tax and the net salary in 1/10000 which is the scale
+// of the BigDecimal products, so every amount and its scale are the same as with the BigDecimal HALF_UP arithmetic.
+// A DECIMAL(15,2) salary is below 10^15 cents, so none of the products below can overflow.
+public final class PayrollBatch {
+    static final int AMOUNT_SCALE = 2;
+    static final int PRODUCT_SCALE = 4;
+    private static final long TAX_PERCENT = 15;
+    private static final long INSURANCE_CENTS = 500_00;
+    private static final long CENTS_TO_PRODUCT = 100;
+    // the salary is divided by the working days with 10 decimals, 8 more than the cents
+    private static final long DAY_RATE_FRACTION = 100_000_000;
+
+    private final long[] grossSalaries;
+    private final long[] bonuses;
+    private final int[] deductedLeaveDays;
+    private final long[] taxAmounts;
+    private final long[] leavesDeductions;
+    private final long[] netSalaries;
+    private int size;
+
+    public PayrollBatch(int capacity) {
+        grossSalaries = new long[capacity];
+        bonuses = new long[capacity];
+        deductedLeaveDays = new int[capacity];
+        taxAmounts = new long[capacity];
+        leavesDeductions = new long[capacity];
+        netSalaries = new long[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    // the arrays are kept, so one batch can be refilled for every chunk
+    public void clear() {
+        size = 0;
+    }
+
+    public int add(BigDecimal grossSalary, BigDecimal bonus, int leaveDays) {
+        if (size == grossSalaries.length) {
+            throw new IllegalStateException("Payroll batch is full: " + size + " employees");
+        }
+        grossSalaries[size] = toCents(grossSalary);
+        bonuses[size] = toCents(bonus);
+        deductedLeaveDays[size] = leaveDays;
+        return size++;
+    }
+
+    public void calculate() {
+        for (int i = 0; i < size; i++) {
+            long grossSalary = grossSalaries[i];
+            long taxAmount = grossSalary * TAX_PERCENT;
+            long leavesDeduction = leavesDeduction(grossSalary, deductedLeaveDays[i]);
+            taxAmounts[i] = taxAmount;
+            leavesDeductions[i] = leavesDeduction;
+            // gross salary - (tax amount + insurance + leaves deduction) + bonus
+            netSalaries[i] = (grossSalary - INSURANCE_CENTS - leavesDeduction + bonuses[i]) * CENTS_TO_PRODUCT
+                    - taxAmount;
+        }
+    }
+
+    public BigDecimal getTaxAmount(int index) {
+        return BigDecimal.valueOf(taxAmounts[index], PRODUCT_SCALE);
+    }
+
+    public BigDecimal getLeavesDeduction(int index) {
+        return BigDecimal.valueOf(leavesDeductions[index], AMOUNT_SCALE);
+    }
+
+    public BigDecimal getNetSalary(int index) {
+        return BigDecimal.valueOf(netSalaries[index], PRODUCT_SCALE);
+    }
+
+    // gross salary * 0.85 - insurance, the net salary without leaves nor bonuses
+    public static BigDecimal netSalaryWithoutLeaves(BigDecimal grossSalary) {
+        long netSalary = toCents(grossSalary) * (100 - TAX_PERCENT) - INSURANCE_CENTS * CENTS_TO_PRODUCT;
+        return BigDecimal.valueOf(netSalary, PRODUCT_SCALE);
+    }
+
+    // salary / working days rounded half up to 10 decimals, times the days, rounded half up to cents.
+    // With salary = working days * quotient + remainder, only the remainder part of the day rate has decimals.
+    static long leavesDeduction(long grossSalary, int leaveDays) {
+        long dayRate = grossSalary / WORKING_DAY_IN_MONTH;
+        long remainder = grossSalary % WORKING_DAY_IN_MONTH;
+        long dayRateFraction = (remainder * DAY_RATE_FRACTION + WORKING_DAY_IN_MONTH / 2) / WORKING_DAY_IN_MONTH;
+        return dayRate * leaveDays + (dayRateFraction * leaveDays + DAY_RATE_FRACTION / 2) / DAY_RATE_FRACTION;
+    }
+
+    // the amount columns have 2 decimals, a value with more is rounded like the database does on insert
+    private static long toCents(BigDecimal amount) {
+        return amount.setScale(AMOUNT_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
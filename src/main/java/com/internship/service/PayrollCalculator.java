@@ -0,0 +1,63 @@
+package com.internship.service;
+
+import com.internship.dto.EmployeeLeaveCountDtoInterface;
+import com.internship.dto.PayrollEmployeeDtoInterface;
+import com.internship.entity.Employee;
+import com.internship.entity.Payroll;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+@Component
+public class PayrollCalculator {
+    static final Integer WORKING_DAY_IN_MONTH = 30;
+    private static final BigDecimal INSURANCE_AMOUNT = BigDecimal.valueOf(500);
+
+    public List<Payroll> calculate(YearMonth yearMonth, LocalDate today, List<PayrollEmployeeDtoInterface> employees,
+                                   Map<Long, BigDecimal> bonuses,
+                                   Map<Long, EmployeeLeaveCountDtoInterface> leaveCounts,
+                                   Function<Long, Employee> employeeReferences) {
+        // the amounts of the whole chunk are computed on longs, BigDecimals are only built for the payroll rows
+        PayrollBatch batch = new PayrollBatch(employees.size());
+        for (PayrollEmployeeDtoInterface employee : employees) {
+            int maxLeaveDays = EmploymentYears.getTheNumberOfLeaveDays(employee.getJoinedDate(), today);
+            batch.add(employee.getGrossSalary(), bonuses.getOrDefault(employee.getId(), BigDecimal.ZERO),
+                    countDeductedLeaveDays(maxLeaveDays, leaveCounts.get(employee.getId())));
+        }
+        batch.calculate();
+
+        List<Payroll> payrolls = new ArrayList<>(employees.size());
+        for (int i = 0; i < employees.size(); i++) {
+            PayrollEmployeeDtoInterface employee = employees.get(i);
+            payrolls.add(Payroll.builder()
+                    .payrollYear(yearMonth.getYear())
+                    .payrollMonth(yearMonth.getMonthValue())
+                    .grossSalary(employee.getGrossSalary())
+                    .bonus(bonuses.getOrDefault(employee.getId(), BigDecimal.ZERO))
+                    .taxAmount(batch.getTaxAmount(i))
+                    .insuranceDeduction(INSURANCE_AMOUNT)
+                    .leavesDeduction(batch.getLeavesDeduction(i))
+                    .netSalary(batch.getNetSalary(i))
+                    .employee(employeeReferences.apply(employee.getId()))
+                    .build());
+        }
+        return payrolls;
+    }
+
+    static int countDeductedLeaveDays(int maxLeaveDays, EmployeeLeaveCountDtoInterface leaveCount) {
+        if (leaveCount == null) {
+            return 0;
+        }
+        // leaves are counted in date order, so the ones of this month come after the ones taken before it
+        // and only those exceeding the yearly allowance are deducted
+        int takenBeforeMonth = leaveCount.getTakenBeforeMonth().intValue();
+        int takenInMonth = leaveCount.getTakenInMonth().intValue();
+        return Math.max(0, takenBeforeMonth + takenInMonth - Math.max(takenBeforeMonth, maxLeaveDays));
+    }
+}
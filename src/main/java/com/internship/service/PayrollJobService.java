@@ -0,0 +1,161 @@
+package com.internship.service;
+
+import com.internship.config.PayrollProperties;
+import com.internship.dto.EmployeeAmountDtoInterface;
+import com.internship.dto.EmployeeLeaveCountDtoInterface;
+import com.internship.dto.IdRangeDtoInterface;
+import com.internship.dto.PayrollEmployeeDtoInterface;
+import com.internship.entity.Payroll;
+import com.internship.entity.PayrollJob;
+import com.internship.entity.PayrollJobPartition;
+import com.internship.exception.BusinessException;
+import com.internship.repository.BatchInsertRepository;
+import com.internship.repository.BonusRepository;
+import com.internship.repository.EmployeeRepository;
+import com.internship.repository.LeaveBalanceRepository;
+import com.internship.repository.PayrollJobPartitionRepository;
+import com.internship.repository.PayrollJobRepository;
+import com.internship.repository.PayrollRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static com.internship.enums.PayrollJobStatus.*;
+import static com.internship.exception.ApiError.DUPLICATE_PAYROLL_EXCEPTION;
+
+@Service
+@RequiredArgsConstructor
+public class PayrollJobService {
+    private final PayrollJobRepository payrollJobRepository;
+    private final PayrollJobPartitionRepository payrollJobPartitionRepository;
+    private final PayrollRepository payrollRepository;
+    private final BatchInsertRepository batchInsertRepository;
+    private final EmployeeRepository employeeRepository;
+    private final BonusRepository bonusRepository;
+    private final LeaveBalanceRepository leaveBalanceRepository;
+    private final PayrollCalculator payrollCalculator;
+    private final PayrollProperties payrollProperties;
+
+    // returns the job of the month when this run owns it, empty when it is completed or another run owns it
+    @Transactional
+    public Optional<PayrollJob> claimJob(YearMonth yearMonth) {
+        LocalDateTime now = LocalDateTime.now();
+        Optional<PayrollJob> existingJob = payrollJobRepository
+                .findByPayrollYearAndPayrollMonth(yearMonth.getYear(), yearMonth.getMonthValue());
+        if (existingJob.isPresent()) {
+            // a failed or crashed run is resumed from the last committed chunk of each partition, a running job is
+            // considered crashed once no chunk has been committed for the claim timeout
+            LocalDateTime staleBefore = now.minus(payrollProperties.getClaimTimeout());
+            boolean claimed = payrollJobRepository.claim(existingJob.get().getId(), now, staleBefore) == 1;
+            return claimed ? existingJob : Optional.empty();
+        }
+
+        // two runs creating the job of the same month are rejected by its unique year and month
+        PayrollJob job = payrollJobRepository.save(PayrollJob.builder()
+                .payrollYear(yearMonth.getYear())
+                .payrollMonth(yearMonth.getMonthValue())
+                .status(RUNNING)
+                .processedEmployees(0)
+                .build());
+        payrollJobPartitionRepository.saveAll(createPartitions(job));
+        return Optional.of(job);
+    }
+
+    @Transactional
+    public List<PayrollJobPartition> getPendingPartitions(Long jobId) {
+        return payrollJobPartitionRepository.findByJobIdAndStatusNotOrderByRangeStartAsc(jobId, COMPLETED);
+    }
+
+    @Transactional
+    public void processChunk(Long jobId, Long partitionId, YearMonth yearMonth, LocalDate today,
+                             List<PayrollEmployeeDtoInterface> employees) {
+        Long fromId = employees.getFirst().getId();
+        Long toId = employees.getLast().getId();
+        int year = yearMonth.getYear();
+        int month = yearMonth.getMonthValue();
+
+        // load bonuses and leave counts of the whole chunk with one query each
+        Set<Long> alreadyPaid = payrollRepository.findEmployeeIdsWithPayroll(year, month, fromId, toId);
+        Map<Long, BigDecimal> bonuses = toAmountByEmployee(bonusRepository.sumAmountPerEmployeeBetween(
+                yearMonth.atDay(1), yearMonth.atEndOfMonth(), fromId, toId));
+        // the leave counts are read from the yearly counters, one row per employee with leaves this year
+        Map<Long, EmployeeLeaveCountDtoInterface> leaveCounts = leaveBalanceRepository
+                .countLeavesPerEmployee(year, month, fromId, toId)
+                .stream()
+                .collect(Collectors.toMap(EmployeeLeaveCountDtoInterface::getEmployeeId, Function.identity()));
+
+        List<PayrollEmployeeDtoInterface> unpaidEmployees = employees.stream()
+                .filter(employee -> !alreadyPaid.contains(employee.getId()))
+                .toList();
+        List<Payroll> employeePayroll = payrollCalculator.calculate(yearMonth, today, unpaidEmployees, bonuses,
+                leaveCounts, employeeRepository::getReferenceById);
+
+        int insertedPayrolls;
+        try {
+            insertedPayrolls = batchInsertRepository.insertPayrolls(employeePayroll);
+        } catch (DataIntegrityViolationException ex) {
+            throw new BusinessException(DUPLICATE_PAYROLL_EXCEPTION);
+        }
+
+        // the checkpoint is committed together with the chunk it describes
+        payrollJobPartitionRepository.getReferenceById(partitionId).setLastEmployeeId(toId);
+        payrollJobRepository.addProcessedEmployees(jobId, insertedPayrolls, LocalDateTime.now());
+    }
+
+    @Transactional
+    public void completePartition(Long partitionId) {
+        payrollJobPartitionRepository.getReferenceById(partitionId).setStatus(COMPLETED);
+    }
+
+    @Transactional
+    public void completeJob(Long jobId) {
+        payrollJobRepository.getReferenceById(jobId).setStatus(COMPLETED);
+    }
+
+    @Transactional
+    public void failJob(Long jobId) {
+        payrollJobRepository.getReferenceById(jobId).setStatus(FAILED);
+    }
+
+    private List<PayrollJobPartition> createPartitions(PayrollJob job) {
+        IdRangeDtoInterface idRange = employeeRepository.findIdRange();
+        List<PayrollJobPartition> partitions = new ArrayList<>();
+        if (idRange.getMinId() == null) {
+            return partitions;
+        }
+        // employee ids are auto generated, so equal id ranges hold roughly the same number of employees
+        long rangeSize = Math.ceilDiv(idRange.getMaxId() - idRange.getMinId() + 1,
+                Math.max(1, payrollProperties.getPartitions()));
+        for (long rangeStart = idRange.getMinId(); rangeStart <= idRange.getMaxId(); rangeStart += rangeSize) {
+            long rangeEnd = rangeStart + rangeSize - 1;
+            partitions.add(PayrollJobPartition.builder()
+                    .job(job)
+                    .rangeStart(rangeStart)
+                    // the last partition is left open for employees added before a resumed run
+                    .rangeEnd(rangeEnd >= idRange.getMaxId() ? Long.MAX_VALUE : rangeEnd)
+                    .lastEmployeeId(rangeStart - 1)
+                    .status(RUNNING)
+                    .build());
+        }
+        return partitions;
+    }
+
+    private Map<Long, BigDecimal> toAmountByEmployee(List<EmployeeAmountDtoInterface> amounts) {
+        return amounts.stream()
+                .collect(Collectors.toMap(EmployeeAmountDtoInterface::getEmployeeId,
+                        EmployeeAmountDtoInterface::getAmount));
+    }
+}
@@ -0,0 +1,57 @@
+package com.internship.service;
+
+import com.internship.config.PayrollProperties;
+import com.internship.entity.PayrollJobPartition;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+@Component
+@RequiredArgsConstructor
+public class PayrollPartitionExecutor {
+    private final PayrollProperties payrollProperties;
+
+    public void execute(List<PayrollJobPartition> partitions, Consumer<PayrollJobPartition> worker) {
+        int parallelism = Math.min(payrollProperties.getParallelism(), partitions.size());
+        if (parallelism <= 1) {
+            // run on the caller thread so an already opened transaction is reused
+            partitions.forEach(worker);
+            return;
+        }
+
+        List<Future<?>> futures = new ArrayList<>();
+        try (ExecutorService executor = Executors.newFixedThreadPool(parallelism,
+                Thread.ofVirtual().name("payroll-worker-", 0).factory())) {
+            for (PayrollJobPartition partition : partitions) {
+                // the statements of the workers are counted with the job that started them
+                futures.add(executor.submit(SqlMetrics.propagate(() -> worker.accept(partition))));
+            }
+        }
+
+        // every partition has been attempted, the committed ones are kept even if another one failed
+        RuntimeException failure = null;
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException ex) {
+                if (failure == null) {
+                    failure = ex.getCause() instanceof RuntimeException runtimeException
+                            ? runtimeException : new IllegalStateException(ex.getCause());
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(ex);
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+}
@@ -1,109 +1,67 @@
 package com.internship.service;
 
-import com.internship.entity.Bonus;
-import com.internship.entity.Employee;
-import com.internship.entity.Leave;
-import com.internship.entity.Payroll;
-import com.internship.exception.BusinessException;
-import com.internship.repository.BonusRepository;
+import com.internship.config.PayrollProperties;
+import com.internship.dto.PayrollEmployeeDtoInterface;
+import com.internship.entity.PayrollJob;
+import com.internship.entity.PayrollJobPartition;
 import com.internship.repository.EmployeeRepository;
-import com.internship.repository.LeaveRepository;
-import com.internship.repository.PayrollRepository;
-import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.time.LocalDate;
 import java.time.YearMonth;
 import java.util.List;
-
-import static com.internship.exception.ApiError.DUPLICATE_PAYROLL_EXCEPTION;
+import java.util.Optional;
 
 @Service
 @RequiredArgsConstructor
 public class PayrollService {
-    static final Integer WORKING_DAY_IN_MONTH = 30;
-    private static final BigDecimal INSURANCE_AMOUNT = BigDecimal.valueOf(500);
-    private static final BigDecimal TAX_RATIO = BigDecimal.valueOf(0.15);
     private final EmployeeRepository employeeRepository;
-    private final BonusRepository bonusRepository;
-    private final LeaveRepository leaveRepository;
-    private final EmployeeService employeeService;
-    private final PayrollRepository payrollRepository;
+    private final PayrollJobService payrollJobService;
+    private final PayrollPartitionExecutor payrollPartitionExecutor;
+    private final PayrollProperties payrollProperties;
 
-    @Transactional
     public void generatePayroll() {
+        // the date is taken once here, so all workers calculate the payroll against the same day
+        LocalDate currentDate = LocalDate.now();
         // we're generating payroll for the prev month
-        LocalDate today = LocalDate.now().minusMonths(1);
-
-        int month = today.getMonthValue();
-        int year = today.getYear();
-
-        List<Employee> employees = employeeRepository.findAll();
-
-        List<Payroll> employeePayroll = employees.stream().map(employee -> {
-            BigDecimal grossSalary = employee.getGrossSalary();
-            BigDecimal bonus = calculateBonusOfEmployeeInSpecificMonthAndYear(employee, month, year);
-            BigDecimal taxAmount = grossSalary.multiply(TAX_RATIO);
-            BigDecimal leavesDeduction =
-                    calculateLeavesDeductionOfEmployeeInSpecificMonthAndYear(employee, month, year);
-            BigDecimal netSalary =
-                    grossSalary.subtract(taxAmount.add(INSURANCE_AMOUNT).add(leavesDeduction)).add(bonus);
-
-            return Payroll.builder()
-                    .payrollYear(year)
-                    .payrollMonth(month)
-                    .grossSalary(grossSalary)
-                    .bonus(bonus)
-                    .taxAmount(taxAmount)
-                    .insuranceDeduction(INSURANCE_AMOUNT)
-                    .leavesDeduction(leavesDeduction)
-                    .netSalary(netSalary)
-                    .employee(employee)
-                    .build();
-        }).toList();
+        LocalDate today = currentDate.minusMonths(1);
+        YearMonth yearMonth = YearMonth.of(today.getYear(), today.getMonthValue());
 
+        Optional<PayrollJob> claimedJob;
         try {
-            payrollRepository.saveAll(employeePayroll);
+            claimedJob = payrollJobService.claimJob(yearMonth);
         } catch (DataIntegrityViolationException ex) {
-            throw new BusinessException(DUPLICATE_PAYROLL_EXCEPTION);
+            // another run created the job of the month at the same time and owns it
+            return;
         }
-    }
-
-    private BigDecimal calculateBonusOfEmployeeInSpecificMonthAndYear(final Employee employee, int month, int year) {
-        YearMonth yearMonth = YearMonth.of(year, month);
-        LocalDate start = yearMonth.atDay(1);
-        LocalDate end = yearMonth.atEndOfMonth();
+        if (claimedJob.isEmpty()) {
+            return;
+        }
+        PayrollJob job = claimedJob.get();
 
-        List<Bonus> bonuses = bonusRepository.findByEmployeeIdAndBonusDateBetween(employee.getId(), start, end);
-        return bonuses.stream().map(Bonus::getAmount).reduce(BigDecimal.ZERO, BigDecimal::add);
+        try {
+            payrollPartitionExecutor.execute(payrollJobService.getPendingPartitions(job.getId()),
+                    partition -> generatePartitionPayroll(job, partition, yearMonth, currentDate));
+        } catch (RuntimeException ex) {
+            payrollJobService.failJob(job.getId());
+            throw ex;
+        }
+        payrollJobService.completeJob(job.getId());
     }
 
-    private BigDecimal calculateLeavesDeductionOfEmployeeInSpecificMonthAndYear(
-            final Employee employee,
-            int month, int year
-    ) {
-        LocalDate start = YearMonth.of(year, 1).atDay(1);
-        LocalDate end = YearMonth.of(year, month).atEndOfMonth();
-
-        int maxLeaveDays = employeeService.getTheNumberOfLeaveDays(employee.getJoinedDate());
-        List<Leave> leaves = leaveRepository
-                .findByEmployeeIdAndLeaveDateBetweenOrderByLeaveDateAsc(employee.getId(), start, end);
-        int numberOfLeavesDeduction = 0;
-        int leaveCounter = 0;
-        for (Leave leave : leaves) {
-            leaveCounter++;
-            if (leaveCounter > maxLeaveDays && leave.getLeaveDate().getMonthValue() == month) {
-                numberOfLeavesDeduction++;
-            }
+    private void generatePartitionPayroll(PayrollJob job, PayrollJobPartition partition,
+                                          YearMonth yearMonth, LocalDate currentDate) {
+        // walk the employees of the partition in id order, each chunk is committed with its checkpoint
+        Limit chunkSize = Limit.of(payrollProperties.getChunkSize());
+        List<PayrollEmployeeDtoInterface> chunk =
+                employeeRepository.findPayrollChunk(partition.getLastEmployeeId(), partition.getRangeEnd(), chunkSize);
+        while (!chunk.isEmpty()) {
+            payrollJobService.processChunk(job.getId(), partition.getId(), yearMonth, currentDate, chunk);
+            chunk = employeeRepository.findPayrollChunk(chunk.getLast().getId(), partition.getRangeEnd(), chunkSize);
         }
-        // total leaves deduction = gross salary / Number of working days in month * deducted leave days
-        return employee.getGrossSalary()
-                .divide(BigDecimal.valueOf(WORKING_DAY_IN_MONTH), 10, RoundingMode.HALF_UP)
-                .multiply(BigDecimal.valueOf(numberOfLeavesDeduction))
-                .setScale(2, RoundingMode.HALF_UP);
+        payrollJobService.completePartition(partition.getId());
     }
 }
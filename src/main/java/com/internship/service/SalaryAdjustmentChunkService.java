@@ -0,0 +1,80 @@
+package com.internship.service;
+
+import com.internship.dto.EmployeeAmountDtoInterface;
+import com.internship.dto.SalaryAdjustmentRequest;
+import com.internship.entity.EmployeeSalary;
+import com.internship.event.TeamMembersChangedEvent;
+import com.internship.exception.BusinessException;
+import com.internship.repository.BatchInsertRepository;
+import com.internship.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static com.internship.enums.SalaryReason.SALARY_RAISED;
+import static com.internship.enums.SalaryReason.SALARY_UPDATED;
+import static com.internship.exception.ApiError.EMPLOYEE_NOT_FOUND;
+import static com.internship.exception.ApiError.INVALID_SALARY_ADJUSTMENT;
+
+@Service
+@RequiredArgsConstructor
+public class SalaryAdjustmentChunkService {
+    private static final BigDecimal ONE_HUNDRED = BigDecimal.valueOf(100);
+    private final EmployeeRepository employeeRepository;
+    private final BatchInsertRepository batchInsertRepository;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // applies the adjustments and returns the total change of the gross salaries
+    @Transactional
+    public BigDecimal applyChunk(List<SalaryAdjustmentRequest> adjustments) {
+        // the current salaries are read again under lock, so a salary changed since the validation is not overwritten
+        Map<Long, BigDecimal> currentSalaries = employeeRepository.findGrossSalariesForUpdate(
+                        adjustments.stream().map(SalaryAdjustmentRequest::getEmployeeId).toList()).stream()
+                .collect(Collectors.toMap(EmployeeAmountDtoInterface::getEmployeeId,
+                        EmployeeAmountDtoInterface::getAmount));
+
+        List<EmployeeSalary> employeeSalaries = new ArrayList<>(adjustments.size());
+        BigDecimal totalChange = BigDecimal.ZERO;
+        for (SalaryAdjustmentRequest adjustment : adjustments) {
+            Long employeeId = adjustment.getEmployeeId();
+            BigDecimal currentSalary = currentSalaries.get(employeeId);
+            if (currentSalary == null) {
+                throw new BusinessException(EMPLOYEE_NOT_FOUND, "Employee not found with id: " + employeeId);
+            }
+            BigDecimal newSalary = calculateNewSalary(currentSalary, adjustment);
+            if (newSalary.signum() <= 0) {
+                throw new BusinessException(INVALID_SALARY_ADJUSTMENT,
+                        "Gross salary of employee " + employeeId + " must stay positive");
+            }
+            BigDecimal change = newSalary.subtract(currentSalary);
+            employeeSalaries.add(EmployeeSalary.builder()
+                    .grossSalary(newSalary)
+                    .reason(adjustment.getReason() != null ? adjustment.getReason()
+                            : change.signum() > 0 ? SALARY_RAISED.getMessage() : SALARY_UPDATED.getMessage())
+                    .employee(employeeRepository.getReferenceById(employeeId))
+                    .build());
+            totalChange = totalChange.add(change);
+        }
+        batchInsertRepository.insertEmployeeSalaries(employeeSalaries);
+        batchInsertRepository.updateGrossSalaries(employeeSalaries);
+        eventPublisher.publishEvent(new TeamMembersChangedEvent(
+                employeeRepository.findTeamIdsByIds(currentSalaries.keySet())));
+        return totalChange;
+    }
+
+    public static BigDecimal calculateNewSalary(BigDecimal currentSalary, SalaryAdjustmentRequest adjustment) {
+        BigDecimal change = adjustment.getAmount() != null
+                ? adjustment.getAmount()
+                : currentSalary.multiply(adjustment.getPercentage()).divide(ONE_HUNDRED);
+        // salaries are stored with 2 decimals
+        return currentSalary.add(change).setScale(2, RoundingMode.HALF_UP);
+    }
+}
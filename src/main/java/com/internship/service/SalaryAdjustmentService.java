@@ -0,0 +1,103 @@
+package com.internship.service;
+
+import com.internship.config.SalaryAdjustmentProperties;
+import com.internship.dto.BulkSalaryAdjustmentRequest;
+import com.internship.dto.BulkSalaryAdjustmentResponse;
+import com.internship.dto.SalaryAdjustmentRequest;
+import com.internship.exception.BusinessException;
+import com.internship.repository.EmployeeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.util.*;
+
+import static com.internship.exception.ApiError.INVALID_SALARY_ADJUSTMENT;
+import static com.internship.exception.ApiError.SALARY_ADJUSTMENT_PARTIALLY_APPLIED;
+
+@Service
+@RequiredArgsConstructor
+public class SalaryAdjustmentService {
+    private static final int LOOKUP_BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED_ERRORS = 20;
+    private final EmployeeRepository employeeRepository;
+    private final SalaryAdjustmentChunkService salaryAdjustmentChunkService;
+    private final SalaryAdjustmentProperties salaryAdjustmentProperties;
+
+    public BulkSalaryAdjustmentResponse adjustSalaries(BulkSalaryAdjustmentRequest request) {
+        List<SalaryAdjustmentRequest> adjustments = request.getAdjustments();
+        validate(adjustments);
+
+        // each chunk is committed on its own, without a chunk size the whole request is one transaction
+        int chunkSize = salaryAdjustmentProperties.getChunkSize() > 0
+                ? salaryAdjustmentProperties.getChunkSize() : adjustments.size();
+        BigDecimal totalChange = BigDecimal.ZERO;
+        for (int from = 0; from < adjustments.size(); from += chunkSize) {
+            List<SalaryAdjustmentRequest> chunk =
+                    adjustments.subList(from, Math.min(from + chunkSize, adjustments.size()));
+            try {
+                totalChange = totalChange.add(salaryAdjustmentChunkService.applyChunk(chunk));
+            } catch (RuntimeException ex) {
+                if (from == 0) {
+                    throw ex;
+                }
+                // the previous chunks stay committed, so the client is told which entries still have to be sent
+                throw new BusinessException(SALARY_ADJUSTMENT_PARTIALLY_APPLIED,
+                        SALARY_ADJUSTMENT_PARTIALLY_APPLIED.getDefaultMessage() + ": chunk " + (from / chunkSize + 1)
+                                + " failed, entries 1 to " + from + " were committed and entries " + (from + 1)
+                                + " to " + adjustments.size() + " were not applied: " + ex.getMessage(), ex);
+            }
+        }
+        return BulkSalaryAdjustmentResponse.builder()
+                .adjustedEmployees(adjustments.size())
+                .grossSalaryChange(totalChange)
+                .build();
+    }
+
+    // all the entries are checked against the current salaries before anything is written
+    private void validate(List<SalaryAdjustmentRequest> adjustments) {
+        List<Long> employeeIds = adjustments.stream().map(SalaryAdjustmentRequest::getEmployeeId).distinct().toList();
+        Map<Long, BigDecimal> currentSalaries = new HashMap<>();
+        for (int from = 0; from < employeeIds.size(); from += LOOKUP_BATCH_SIZE) {
+            employeeRepository.findGrossSalaries(
+                            employeeIds.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, employeeIds.size())))
+                    .forEach(salary -> currentSalaries.put(salary.getEmployeeId(), salary.getAmount()));
+        }
+
+        List<String> errors = new ArrayList<>();
+        Set<Long> adjustedEmployeeIds = new HashSet<>();
+        for (int index = 0; index < adjustments.size(); index++) {
+            SalaryAdjustmentRequest adjustment = adjustments.get(index);
+            String error = validate(adjustment, currentSalaries, adjustedEmployeeIds);
+            if (error != null) {
+                errors.add("entry " + (index + 1) + " (employee " + adjustment.getEmployeeId() + "): " + error);
+            }
+        }
+        if (!errors.isEmpty()) {
+            throw new BusinessException(INVALID_SALARY_ADJUSTMENT, INVALID_SALARY_ADJUSTMENT.getDefaultMessage() + ": "
+                    + String.join("; ", errors.subList(0, Math.min(errors.size(), MAX_REPORTED_ERRORS))));
+        }
+    }
+
+    private String validate(SalaryAdjustmentRequest adjustment, Map<Long, BigDecimal> currentSalaries,
+                            Set<Long> adjustedEmployeeIds) {
+        BigDecimal value = adjustment.getAmount() != null ? adjustment.getAmount() : adjustment.getPercentage();
+        if ((adjustment.getAmount() == null) == (adjustment.getPercentage() == null)) {
+            return "either amount or percentage is required";
+        }
+        if (value.signum() == 0) {
+            return "amount or percentage must not be 0";
+        }
+        if (!adjustedEmployeeIds.add(adjustment.getEmployeeId())) {
+            return "employee is adjusted more than once";
+        }
+        BigDecimal currentSalary = currentSalaries.get(adjustment.getEmployeeId());
+        if (currentSalary == null) {
+            return "employee not found";
+        }
+        if (SalaryAdjustmentChunkService.calculateNewSalary(currentSalary, adjustment).signum() <= 0) {
+            return "gross salary must stay positive";
+        }
+        return null;
+    }
+}
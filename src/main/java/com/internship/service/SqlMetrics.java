@@ -0,0 +1,108 @@
+package com.internship.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Number of JDBC statements and time spent running them for each request and job, exported as sql_statements and
+// sql_time_seconds with the source (http or job) and the endpoint (method and uri pattern, or job name) as tags.
+// The statements are attributed to the scope opened on the thread that runs them.
+@Component
+@RequiredArgsConstructor
+public class SqlMetrics {
+    public static final String STATEMENTS_METRIC = "sql.statements";
+    public static final String TIME_METRIC = "sql.time";
+    public static final String HTTP_SOURCE = "http";
+    public static final String JOB_SOURCE = "job";
+    private static final ThreadLocal<Scope> CURRENT_SCOPE = new ThreadLocal<>();
+    private final MeterRegistry meterRegistry;
+
+    public static final class Scope {
+        private final AtomicInteger statements = new AtomicInteger();
+        private final AtomicLong nanos = new AtomicLong();
+        private final Scope parent;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+    }
+
+    public Scope open() {
+        Scope scope = new Scope(CURRENT_SCOPE.get());
+        CURRENT_SCOPE.set(scope);
+        return scope;
+    }
+
+    public void close(Scope scope, String source, String endpoint) {
+        detach(scope);
+        record(scope, source, endpoint);
+    }
+
+    // the thread goes back to the enclosing scope, the tasks propagated to other threads keep counting into this one
+    public void detach(Scope scope) {
+        if (scope.parent != null) {
+            CURRENT_SCOPE.set(scope.parent);
+        } else {
+            CURRENT_SCOPE.remove();
+        }
+    }
+
+    public void record(Scope scope, String source, String endpoint) {
+        DistributionSummary.builder(STATEMENTS_METRIC)
+                .description("JDBC statements run by each request or job")
+                .tag("source", source)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(scope.statements.get());
+        Timer.builder(TIME_METRIC)
+                .description("Time spent running the JDBC statements of each request or job")
+                .tag("source", source)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(scope.nanos.get(), TimeUnit.NANOSECONDS);
+    }
+
+    public void runJob(String job, Runnable task) {
+        Scope scope = open();
+        try {
+            task.run();
+        } finally {
+            close(scope, JOB_SOURCE, job);
+        }
+    }
+
+    // the statements run by the task on another thread are added to the scope of the calling thread
+    public static Runnable propagate(Runnable task) {
+        Scope scope = CURRENT_SCOPE.get();
+        if (scope == null) {
+            return task;
+        }
+        return () -> {
+            Scope previous = CURRENT_SCOPE.get();
+            CURRENT_SCOPE.set(scope);
+            try {
+                task.run();
+            } finally {
+                if (previous != null) {
+                    CURRENT_SCOPE.set(previous);
+                } else {
+                    CURRENT_SCOPE.remove();
+                }
+            }
+        };
+    }
+
+    public static void recordStatement(long nanos) {
+        Scope scope = CURRENT_SCOPE.get();
+        if (scope != null) {
+            scope.statements.incrementAndGet();
+            scope.nanos.addAndGet(nanos);
+        }
+    }
+}
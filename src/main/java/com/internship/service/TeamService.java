@@ -1,44 +1,92 @@
 package com.internship.service;
 
+import com.internship.config.TeamMembersCacheProperties;
 import com.internship.dto.EmployeeResponse;
+import com.internship.dto.EmployeeVersionDtoInterface;
+import com.internship.event.TeamMembersChangedEvent;
 import com.internship.exception.BusinessException;
-import com.internship.mapper.EmployeeMapper;
 import com.internship.repository.EmployeeRepository;
 import com.internship.repository.TeamRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
 
 import java.util.List;
 
+import static com.internship.config.CacheConfig.TEAM_MEMBERS_CACHE;
 import static com.internship.exception.ApiError.TEAM_NOT_FOUND;
 
 @Service
 @RequiredArgsConstructor
 public class TeamService {
+    public static final String LOAD_TIMER = "team.members.cache.load";
     private final TeamRepository teamRepository;
     private final EmployeeRepository employeeRepository;
-    private final EmployeeMapper employeeMapper;
     private final EmployeeService employeeService;
+    private final TeamMembersCacheProperties teamMembersCacheProperties;
+    private final CacheManager cacheManager;
+    private final MeterRegistry meterRegistry;
 
-    public List<EmployeeResponse> getMembers(Long id) {
-        teamRepository.findById(id)
-                .orElseThrow(() -> new BusinessException(TEAM_NOT_FOUND,
-                        "Team not found with id: " + id));
-
-        return employeeRepository.findByTeamId(id)
-                .stream()
-                .map(employee ->
-                        employeeMapper.toResponse(
-                                employee,
-                                employeeService.calculateYearsOfExperience(
-                                        employee.getPastExperienceYear(),
-                                        employee.getJoinedDate()
-                                ),
-                                employeeService.getTheNumberOfLeaveDays(
-                                        employee.getJoinedDate()
-                                )
-                        )
-                )
-                .toList();
+    public List<EmployeeResponse> getMembers(Long id, Long afterId, int limit) {
+        checkTeamExists(id);
+        Cache cache = getTeamMembersCache();
+        if (cache == null) {
+            return employeeService.toResponses(employeeRepository.getTeamMembers(id, afterId, limit));
+        }
+        // the members are cached in id order, the page is cut from them after the cursor
+        List<EmployeeResponse> members = cache.get(id, () -> loadMembers(id));
+        int from = firstIndexAfter(members, afterId);
+        return members.subList(from, from + Math.min(limit, members.size() - from));
+    }
+
+    public List<EmployeeVersionDtoInterface> getMemberVersions(Long id, Long afterId, int limit) {
+        checkTeamExists(id);
+        return employeeRepository.getTeamMemberVersions(id, afterId, limit);
+    }
+
+    // evicted once the change is committed, a read loading the team meanwhile is evicted with it
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onTeamMembersChanged(TeamMembersChangedEvent event) {
+        Cache cache = getTeamMembersCache();
+        if (cache != null) {
+            event.teamIds().forEach(cache::evict);
+        }
+    }
+
+    private List<EmployeeResponse> loadMembers(Long id) throws Exception {
+        // the Caffeine load statistics are only exported for loading caches, so the loads are timed here
+        return Timer.builder(LOAD_TIMER)
+                .description("Time taken to load the members of a team into the cache")
+                .register(meterRegistry)
+                .recordCallable(() -> employeeService.toResponses(
+                        employeeRepository.getTeamMembers(id, 0L, Integer.MAX_VALUE)));
+    }
+
+    private Cache getTeamMembersCache() {
+        return teamMembersCacheProperties.isEnabled() ? cacheManager.getCache(TEAM_MEMBERS_CACHE) : null;
+    }
+
+    private int firstIndexAfter(List<EmployeeResponse> members, Long afterId) {
+        int low = 0;
+        int high = members.size();
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (members.get(middle).getId() <= afterId) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private void checkTeamExists(Long id) {
+        if (!teamRepository.existsById(id)) {
+            throw new BusinessException(TEAM_NOT_FOUND, "Team not found with id: " + id);
+        }
     }
 }
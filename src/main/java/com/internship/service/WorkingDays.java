@@ -0,0 +1,47 @@
+package com.internship.service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+// Leaves are only taken on working days, Friday and Saturday are the weekend.
+public final class WorkingDays {
+    private static final int DAYS_IN_WEEK = 7;
+    private static final int WORKING_DAYS_IN_WEEK = 5;
+    private static final int MONTHS = 12;
+
+    private WorkingDays() {
+    }
+
+    public static boolean isWorkingDay(LocalDate date) {
+        return date.getDayOfWeek() != DayOfWeek.FRIDAY && date.getDayOfWeek() != DayOfWeek.SATURDAY;
+    }
+
+    public static Stream<LocalDate> between(LocalDate startDate, LocalDate endDate) {
+        return startDate.datesUntil(endDate.plusDays(1)).filter(WorkingDays::isWorkingDay);
+    }
+
+    public static int count(LocalDate startDate, LocalDate endDate) {
+        // every full week has the same working days, only the days after the last one are checked
+        long fullWeeks = (ChronoUnit.DAYS.between(startDate, endDate) + 1) / DAYS_IN_WEEK;
+        int count = Math.toIntExact(fullWeeks * WORKING_DAYS_IN_WEEK);
+        return count + (int) between(startDate.plusWeeks(fullWeeks), endDate).count();
+    }
+
+    // year -> working days of the range in each month of that year
+    public static Map<Integer, int[]> countPerMonth(LocalDate startDate, LocalDate endDate) {
+        Map<Integer, int[]> days = new TreeMap<>();
+        for (YearMonth month = YearMonth.from(startDate); !month.isAfter(YearMonth.from(endDate));
+             month = month.plusMonths(1)) {
+            LocalDate from = startDate.isAfter(month.atDay(1)) ? startDate : month.atDay(1);
+            LocalDate to = endDate.isBefore(month.atEndOfMonth()) ? endDate : month.atEndOfMonth();
+            days.computeIfAbsent(month.getYear(), year -> new int[MONTHS])[month.getMonthValue() - 1] =
+                    count(from, to);
+        }
+        return days;
+    }
+}
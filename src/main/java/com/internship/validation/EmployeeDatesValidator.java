@@ -0,0 +1,24 @@
+package com.internship.validation;
+
+import com.internship.exception.BusinessException;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.Period;
+
+import static com.internship.exception.ApiError.INVALID_EMPLOYEE_DATES_EXCEPTION;
+
+// checks the dates of created, imported and updated employees
+@Component
+public class EmployeeDatesValidator {
+    private static final int MAX_DIFFERENCE_YEARS = 20;
+
+    public void validateGraduationAndBirthDate(LocalDate dateOfBirth, LocalDate graduationDate) {
+        if (dateOfBirth != null && graduationDate != null) {
+            int years = Period.between(dateOfBirth, graduationDate).getYears();
+            if (years < MAX_DIFFERENCE_YEARS) {
+                throw new BusinessException(INVALID_EMPLOYEE_DATES_EXCEPTION);
+            }
+        }
+    }
+}
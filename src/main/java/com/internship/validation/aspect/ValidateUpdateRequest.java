@@ -1,9 +0,0 @@
-package com.internship.validation.aspect;
-
-import java.lang.annotation.*;
-
-@Target(ElementType.METHOD)
-@Retention(RetentionPolicy.RUNTIME)
-@Documented
-public @interface ValidateUpdateRequest {
-}
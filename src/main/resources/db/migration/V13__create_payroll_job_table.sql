@@ -0,0 +1,12 @@
+CREATE TABLE payroll_jobs
+(
+    id                  BIGINT AUTO_INCREMENT PRIMARY KEY,
+    payroll_year        INT         NOT NULL,
+    payroll_month       INT         NOT NULL,
+    status              VARCHAR(20) NOT NULL,
+    last_employee_id    BIGINT      NOT NULL DEFAULT 0,
+    processed_employees INT         NOT NULL DEFAULT 0,
+    updated_at          DATETIME    NOT NULL,
+
+    CONSTRAINT uq_payroll_jobs UNIQUE (payroll_year, payroll_month)
+);
@@ -0,0 +1,22 @@
+CREATE TABLE payroll_job_partitions
+(
+    id               BIGINT AUTO_INCREMENT PRIMARY KEY,
+    job_id           BIGINT      NOT NULL,
+    range_start      BIGINT      NOT NULL,
+    range_end        BIGINT      NOT NULL,
+    last_employee_id BIGINT      NOT NULL,
+    status           VARCHAR(20) NOT NULL,
+
+    CONSTRAINT fk_payroll_job_on_partitions
+        FOREIGN KEY (job_id)
+            REFERENCES payroll_jobs (id)
+);
+
+-- unfinished jobs keep their checkpoint as a single partition covering all employees
+INSERT INTO payroll_job_partitions (job_id, range_start, range_end, last_employee_id, status)
+SELECT id, 0, 9223372036854775807, last_employee_id, status
+FROM payroll_jobs
+WHERE status <> 'COMPLETED';
+
+ALTER TABLE payroll_jobs
+    DROP COLUMN last_employee_id;
@@ -0,0 +1,13 @@
+-- current gross salary of the employee, kept in sync with the latest entry of employee_salaries
+ALTER TABLE employees
+    ADD COLUMN gross_salary DECIMAL(15, 2) NULL;
+
+UPDATE employees
+SET gross_salary = (SELECT s.gross_salary
+                    FROM employee_salaries s
+                    WHERE s.employee_id = employees.id
+                    ORDER BY s.creation_date DESC, s.id DESC
+                    LIMIT 1);
+
+ALTER TABLE employees
+    MODIFY COLUMN gross_salary DECIMAL(15, 2) NOT NULL;
@@ -0,0 +1,35 @@
+-- closure table of the reporting lines, one row for every (manager, employee under it) pair at any depth
+-- and one row with depth 0 for each employee itself
+CREATE TABLE employee_hierarchy
+(
+    ancestor_id   BIGINT NOT NULL,
+    descendant_id BIGINT NOT NULL,
+    depth         INT    NOT NULL,
+
+    CONSTRAINT pk_employee_hierarchy
+        PRIMARY KEY (ancestor_id, descendant_id),
+
+    CONSTRAINT fk_employee_hierarchy_on_ancestor
+        FOREIGN KEY (ancestor_id)
+            REFERENCES employees (id),
+
+    CONSTRAINT fk_employee_hierarchy_on_descendant
+        FOREIGN KEY (descendant_id)
+            REFERENCES employees (id)
+);
+
+CREATE INDEX idx_employee_hierarchy_descendant ON employee_hierarchy (descendant_id, depth);
+
+INSERT INTO employee_hierarchy (ancestor_id, descendant_id, depth)
+WITH RECURSIVE closure (ancestor_id, descendant_id, depth) AS (
+    SELECT id, id, 0
+    FROM employees
+
+    UNION ALL
+
+    SELECT c.ancestor_id, e.id, c.depth + 1
+    FROM closure c
+    JOIN employees e ON e.manager_id = c.descendant_id
+)
+SELECT ancestor_id, descendant_id, depth
+FROM closure;
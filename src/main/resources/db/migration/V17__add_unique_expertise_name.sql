@@ -0,0 +1,31 @@
+-- keep a single expertise per name, the employees of the duplicates are moved to the first one
+UPDATE employee_expertise
+SET expertise_id = (SELECT MIN(kept.id)
+                    FROM expertises duplicate
+                    JOIN expertises kept ON kept.name = duplicate.name
+                    WHERE duplicate.id = employee_expertise.expertise_id);
+
+-- an employee linked to several duplicates is now linked twice to the kept one, so the links are rebuilt distinct
+CREATE TABLE employee_expertise_distinct AS
+SELECT DISTINCT employee_id, expertise_id
+FROM employee_expertise;
+
+DELETE FROM employee_expertise;
+
+INSERT INTO employee_expertise (employee_id, expertise_id)
+SELECT employee_id, expertise_id
+FROM employee_expertise_distinct;
+
+DROP TABLE employee_expertise_distinct;
+
+ALTER TABLE employee_expertise
+    ADD CONSTRAINT uk_employee_expertise UNIQUE (employee_id, expertise_id);
+
+DELETE FROM expertises
+WHERE id NOT IN (SELECT id
+                 FROM (SELECT MIN(id) AS id
+                       FROM expertises
+                       GROUP BY name) AS kept);
+
+ALTER TABLE expertises
+    ADD CONSTRAINT uk_expertises_name UNIQUE (name);
@@ -0,0 +1,3 @@
+-- incremented by every change of the employee, its salary, leaves and bonuses, the ETags of the api are built from it
+ALTER TABLE employees
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,48 @@
+-- yearly leave counters of each employee, maintained with the leaves so the payroll reads one row per employee
+-- instead of counting its leaves of the year. The days over the allowance are derived from the month counters,
+-- the allowance depends on the date the payroll runs
+CREATE TABLE employee_leave_balances
+(
+    employee_id   BIGINT NOT NULL,
+    leave_year    INT    NOT NULL,
+    days_taken    INT    NOT NULL DEFAULT 0,
+    month_1_days  INT    NOT NULL DEFAULT 0,
+    month_2_days  INT    NOT NULL DEFAULT 0,
+    month_3_days  INT    NOT NULL DEFAULT 0,
+    month_4_days  INT    NOT NULL DEFAULT 0,
+    month_5_days  INT    NOT NULL DEFAULT 0,
+    month_6_days  INT    NOT NULL DEFAULT 0,
+    month_7_days  INT    NOT NULL DEFAULT 0,
+    month_8_days  INT    NOT NULL DEFAULT 0,
+    month_9_days  INT    NOT NULL DEFAULT 0,
+    month_10_days INT    NOT NULL DEFAULT 0,
+    month_11_days INT    NOT NULL DEFAULT 0,
+    month_12_days INT    NOT NULL DEFAULT 0,
+
+    CONSTRAINT pk_employee_leave_balances
+        PRIMARY KEY (employee_id, leave_year),
+
+    CONSTRAINT fk_employee_leave_balances_on_employee
+        FOREIGN KEY (employee_id)
+            REFERENCES employees (id)
+);
+
+INSERT INTO employee_leave_balances (employee_id, leave_year, days_taken,
+                                     month_1_days, month_2_days, month_3_days, month_4_days, month_5_days, month_6_days, month_7_days, month_8_days, month_9_days, month_10_days, month_11_days, month_12_days)
+SELECT employee_id,
+       YEAR(leave_date),
+       COUNT(*),
+       SUM(CASE WHEN MONTH(leave_date) = 1 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 2 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 3 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 4 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 5 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 6 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 7 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 8 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 9 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 10 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 11 THEN 1 ELSE 0 END),
+       SUM(CASE WHEN MONTH(leave_date) = 12 THEN 1 ELSE 0 END)
+FROM leaves
+GROUP BY employee_id, YEAR(leave_date);
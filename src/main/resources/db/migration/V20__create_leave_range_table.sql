@@ -0,0 +1,16 @@
+-- leaves stored as date ranges when leave.storage is ranges, one row for a whole absence instead of one per day
+CREATE TABLE leave_ranges
+(
+    id           BIGINT AUTO_INCREMENT PRIMARY KEY,
+    start_date   DATE   NOT NULL,
+    end_date     DATE   NOT NULL,
+    working_days INT    NOT NULL,
+    employee_id  BIGINT NOT NULL,
+
+    CONSTRAINT fk_employee_on_leave_ranges
+        FOREIGN KEY (employee_id)
+            REFERENCES employees (id)
+);
+
+-- the overlap check only scans the ranges of the employee starting before the end of the new one
+CREATE INDEX idx_leave_ranges_employee_dates ON leave_ranges (employee_id, start_date, end_date);
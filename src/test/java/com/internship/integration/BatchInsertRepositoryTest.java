@@ -0,0 +1,118 @@
+package com.internship.integration;
+
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.spring.api.DBRider;
+import com.internship.entity.EmployeeSalary;
+import com.internship.entity.Leave;
+import com.internship.entity.Payroll;
+import com.internship.repository.BatchInsertRepository;
+import com.internship.repository.EmployeeRepository;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.math.BigDecimal;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@SpringBootTest
+@Transactional
+@DBRider
+public class BatchInsertRepositoryTest {
+    @Autowired
+    private BatchInsertRepository batchInsertRepository;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Long countRows(String table) {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM " + table, Long.class);
+    }
+
+    @Test
+    @DataSet("dataset/employees_payroll.xml")
+    public void testInsertPayrolls_shouldReturnTheNumberOfInsertedRows() {
+        List<Payroll> payrolls = LongStream.rangeClosed(1, 4)
+                .mapToObj(id -> Payroll.builder()
+                        .payrollYear(2020)
+                        .payrollMonth(2)
+                        .grossSalary(BigDecimal.valueOf(1000))
+                        .bonus(BigDecimal.ZERO)
+                        .taxAmount(BigDecimal.valueOf(150))
+                        .insuranceDeduction(BigDecimal.valueOf(500))
+                        .leavesDeduction(BigDecimal.ZERO)
+                        .netSalary(BigDecimal.valueOf(350))
+                        .employee(employeeRepository.getReferenceById(id))
+                        .build())
+                .toList();
+
+        assertEquals(4, batchInsertRepository.insertPayrolls(payrolls));
+        assertEquals(4L, countRows("employee_payroll"));
+    }
+
+    @Test
+    @DataSet("dataset/employees_payroll.xml")
+    public void testInsertLeaves_shouldReturnTheNumberOfInsertedRows() {
+        List<Leave> leaves = List.of(
+                new Leave(LocalDate.of(2020, 1, 1), employeeRepository.getReferenceById(1L)),
+                new Leave(LocalDate.of(2020, 1, 2), employeeRepository.getReferenceById(1L)),
+                new Leave(LocalDate.of(2020, 1, 1), employeeRepository.getReferenceById(2L)));
+
+        assertEquals(3, batchInsertRepository.insertLeaves(leaves));
+        assertEquals(3L, countRows("leaves"));
+    }
+
+    @Test
+    @DataSet("dataset/employees_payroll.xml")
+    public void testUpdateGrossSalaries_shouldReturnTheNumberOfUpdatedRows() {
+        List<EmployeeSalary> employeeSalaries = LongStream.rangeClosed(1, 2)
+                .mapToObj(id -> EmployeeSalary.builder()
+                        .grossSalary(BigDecimal.valueOf(20000))
+                        .employee(employeeRepository.getReferenceById(id))
+                        .build())
+                .toList();
+
+        assertEquals(2, batchInsertRepository.updateGrossSalaries(employeeSalaries));
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employees WHERE gross_salary = 20000",
+                Long.class));
+    }
+
+    @Test
+    public void testInsertNoRows_shouldNotRunAnyBatch() {
+        JdbcTemplate mockedJdbcTemplate = mock(JdbcTemplate.class);
+
+        assertEquals(0, new BatchInsertRepository(mockedJdbcTemplate).insertLeaves(List.of()));
+        verifyNoInteractions(mockedJdbcTemplate);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testInsertRewrittenBatches_shouldCountEachRowReportedWithoutItsCount() {
+        // the MySQL driver reports SUCCESS_NO_INFO for the rows of a batch rewritten into multi-row inserts
+        JdbcTemplate mockedJdbcTemplate = mock(JdbcTemplate.class);
+        when(mockedJdbcTemplate.batchUpdate(anyString(), anyList(), anyInt(),
+                any(ParameterizedPreparedStatementSetter.class)))
+                .thenReturn(new int[][]{
+                        {Statement.SUCCESS_NO_INFO, Statement.SUCCESS_NO_INFO},
+                        {1}
+                });
+
+        List<Leave> leaves = List.of(new Leave(), new Leave(), new Leave());
+        assertEquals(3, new BatchInsertRepository(mockedJdbcTemplate).insertLeaves(leaves));
+    }
+}
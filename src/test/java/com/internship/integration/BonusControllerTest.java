@@ -18,6 +18,7 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
@@ -25,8 +26,11 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.List;
 
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -256,4 +260,27 @@ public class BonusControllerTest {
                             .contains("Employee not found with id: " + NON_EXISTENT_ID)));
         }
     }
+
+    @Test
+    @DataSet("dataset/create_bonus.xml")
+    public void testAddBonus_shouldChangeTheEmployeeETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        CreateBonusRequest request = CreateBonusRequest.builder()
+                .amount(POSITIVE_AMOUNT)
+                .employeeId(EXISTENT_EMPLOYEE_ID)
+                .build();
+
+        mockMvc.perform(post("/api/bonus")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated());
+
+        // the bonus is part of the employee, so the old ETag no longer matches
+        mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
 }
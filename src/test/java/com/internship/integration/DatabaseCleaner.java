@@ -0,0 +1,25 @@
+package com.internship.integration;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+// Removes the rows committed by a test, the datasets of the other tests are only rolled back with their transaction
+final class DatabaseCleaner {
+    private DatabaseCleaner() {
+    }
+
+    static void deleteAll(JdbcTemplate jdbcTemplate) {
+        List<String> tables = jdbcTemplate.queryForList("""
+                SELECT table_name FROM information_schema.tables
+                WHERE table_schema = 'PUBLIC' AND table_type = 'BASE TABLE'
+                  AND LOWER(table_name) <> 'flyway_schema_history'
+                """, String.class);
+        jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY FALSE");
+        try {
+            tables.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+        } finally {
+            jdbcTemplate.execute("SET REFERENTIAL_INTEGRITY TRUE");
+        }
+    }
+}
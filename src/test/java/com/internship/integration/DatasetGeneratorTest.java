@@ -0,0 +1,129 @@
+package com.internship.integration;
+
+import com.internship.service.DatasetGenerator;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@SpringBootTest
+@Transactional
+@TestPropertySource(properties = {
+        "dataset-generator.seed=7",
+        "dataset-generator.employees=60",
+        "dataset-generator.fan-out=3",
+        "dataset-generator.max-depth=3",
+        "dataset-generator.departments=2",
+        "dataset-generator.teams=5",
+        "dataset-generator.expertises=10",
+        "dataset-generator.expertises-per-employee=2",
+        "dataset-generator.history-years=2",
+        "dataset-generator.end-date=2024-06-30",
+        "dataset-generator.salary-changes-per-year=2",
+        "dataset-generator.leave-density=0.05",
+        "dataset-generator.monthly-bonus-share=0.3",
+        "dataset-generator.chunk-size=7"
+})
+public class DatasetGeneratorTest {
+    private static final List<String> TABLES = List.of("employee_payroll", "employee_leave_balances", "leaves",
+            "leave_ranges", "bonuses", "employee_salaries", "employee_expertise", "employee_hierarchy", "employees",
+            "teams", "departments");
+
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void setUp() {
+        deleteAll();
+    }
+
+    private void deleteAll() {
+        jdbcTemplate.update("UPDATE employees SET manager_id = NULL");
+        TABLES.forEach(table -> jdbcTemplate.update("DELETE FROM " + table));
+    }
+
+    private long count(String sql) {
+        return jdbcTemplate.queryForObject(sql, Long.class);
+    }
+
+    // every generated row, identified by the national ids and names instead of the generated ids
+    private List<Map<String, Object>> readDataset() {
+        return jdbcTemplate.queryForList("""
+                SELECT e.national_id, e.first_name, e.degree, e.joined_date, e.date_of_birth, e.gross_salary,
+                       d.name AS department, t.name AS team, m.national_id AS manager,
+                       (SELECT GROUP_CONCAT(ex.name ORDER BY ex.name) FROM employee_expertise ee
+                        JOIN expertises ex ON ex.id = ee.expertise_id WHERE ee.employee_id = e.id) AS expertises,
+                       (SELECT GROUP_CONCAT(s.gross_salary ORDER BY s.creation_date) FROM employee_salaries s
+                        WHERE s.employee_id = e.id) AS salaries,
+                       (SELECT GROUP_CONCAT(l.leave_date ORDER BY l.leave_date) FROM leaves l
+                        WHERE l.employee_id = e.id) AS leaves,
+                       (SELECT GROUP_CONCAT(b.bonus_date || ':' || b.amount ORDER BY b.bonus_date) FROM bonuses b
+                        WHERE b.employee_id = e.id) AS bonuses
+                FROM employees e
+                JOIN departments d ON d.id = e.department_id
+                JOIN teams t ON t.id = e.team_id
+                LEFT JOIN employees m ON m.id = e.manager_id
+                ORDER BY e.national_id
+                """);
+    }
+
+    @Test
+    public void testGenerate_shouldCreateTheConfiguredOrgAndHistory() {
+        assertEquals(60, datasetGenerator.generate());
+
+        assertEquals(60, count("SELECT COUNT(*) FROM employees"));
+        assertEquals(1, count("SELECT COUNT(*) FROM employees WHERE manager_id IS NULL"));
+        // 1 + 3 + 9 + 27 employees don't fit in 3 levels with a fan-out of 3, so 4 subordinates per manager are used
+        assertEquals(3, count("SELECT MAX(depth) FROM employee_hierarchy"));
+        assertEquals(List.of(1L, 4L, 16L, 39L), jdbcTemplate.queryForList("""
+                SELECT COUNT(*) FROM employee_hierarchy h
+                JOIN employees e ON e.id = h.ancestor_id
+                WHERE e.manager_id IS NULL
+                GROUP BY h.depth
+                ORDER BY h.depth
+                """, Long.class));
+        assertEquals(120, count("SELECT COUNT(*) FROM employee_expertise"));
+        // the current salary of each employee is the last one of its history
+        assertEquals(0, count("""
+                SELECT COUNT(*) FROM employees e
+                WHERE e.gross_salary <> (SELECT s.gross_salary FROM employee_salaries s WHERE s.employee_id = e.id
+                                         ORDER BY s.creation_date DESC LIMIT 1)
+                """));
+        // the yearly counters hold every generated leave
+        assertThat(count("SELECT COUNT(*) FROM leaves")).isPositive();
+        assertEquals(count("SELECT COUNT(*) FROM leaves"),
+                count("SELECT COALESCE(SUM(days_taken), 0) FROM employee_leave_balances"));
+        assertThat(count("SELECT COUNT(*) FROM bonuses")).isPositive();
+        assertEquals(0, count("SELECT COUNT(*) FROM leaves WHERE leave_date > DATE '2024-06-30'"));
+    }
+
+    @Test
+    public void testGenerate_withTheSameSeed_shouldGenerateTheSameRows() {
+        datasetGenerator.generate();
+        List<Map<String, Object>> firstDataset = readDataset();
+        deleteAll();
+
+        datasetGenerator.generate();
+
+        assertEquals(firstDataset, readDataset());
+    }
+
+    @Test
+    public void testGenerate_whenEmployeesExist_shouldFail() {
+        datasetGenerator.generate();
+
+        assertThrows(IllegalStateException.class, () -> datasetGenerator.generate());
+    }
+}
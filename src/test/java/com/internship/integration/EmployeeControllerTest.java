@@ -3,6 +3,7 @@ package com.internship.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.database.rider.core.api.dataset.DataSet;
 import com.github.database.rider.spring.api.DBRider;
+import com.internship.controller.EmployeePageResponses;
 import com.internship.dto.*;
 import com.internship.entity.Employee;
 import com.internship.entity.EmployeeSalary;
@@ -12,22 +13,29 @@ import com.internship.enums.Gender;
 import com.internship.enums.SalaryReason;
 import com.internship.exception.ErrorCode;
 import com.internship.repository.*;
+import jakarta.persistence.EntityManagerFactory;
 import jakarta.transaction.Transactional;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
 import org.mockito.MockedStatic;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import static com.internship.enums.Degree.FRESH;
@@ -35,9 +43,11 @@ import static com.internship.enums.Degree.INTERMEDIATE;
 import static com.internship.enums.Gender.FEMALE;
 import static com.internship.enums.Gender.MALE;
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -68,6 +78,8 @@ public class EmployeeControllerTest {
     @Autowired
     private MockMvc mockMvc;
     @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
     private ObjectMapper objectMapper;
     @Autowired
     private EmployeeRepository employeeRepository;
@@ -79,6 +91,8 @@ public class EmployeeControllerTest {
     private TeamRepository teamRepository;
     @Autowired
     private EmployeeSalaryRepository employeeSalaryRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     private CreateEmployeeRequest buildCreateEmployeeRequest() {
         return CreateEmployeeRequest.builder()
@@ -112,6 +126,24 @@ public class EmployeeControllerTest {
                 });
     }
 
+    @Test
+    @DataSet("dataset/create_employee.xml")
+    public void testAddEmployeeWithControlCharacterInExpertiseName_shouldFail() throws Exception {
+        CreateEmployeeRequest request = buildCreateEmployeeRequest();
+        request.setDepartmentId(EXISTENT_DEPARTMENT1_ID);
+        request.setTeamId(EXISTENT_TEAM1_ID);
+        request.setExpertises(List.of("Java\u001FSpring"));
+        mockMvc.perform(post("/api/employees")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> {
+                    String json = result.getResponse().getContentAsString();
+                    ErrorCode error = objectMapper.readValue(json, ErrorCode.class);
+                    assertEquals("expertise names must not contain control characters", error.getErrorMessage());
+                });
+    }
+
     @Test
     @DataSet("dataset/create_employee.xml")
     public void testAddEmployeeWithoutTeam_shouldFail() throws Exception {
@@ -392,6 +424,109 @@ public class EmployeeControllerTest {
         assertEquals(expectedExpertises, actualExpertises);
     }
 
+    // existing and new expertises in the same request, each name is linked and created only once
+    @Test
+    @DataSet("dataset/create_employee.xml")
+    public void testAddEmployeeWithRepeatedExistingAndNewExpertises_shouldCreateEachNameOnce() throws Exception {
+        CreateEmployeeRequest request = buildCreateEmployeeRequest();
+        request.setDepartmentId(EXISTENT_DEPARTMENT1_ID); // existing department id from dataset/create_employee.xml
+        request.setTeamId(EXISTENT_TEAM1_ID); // existing team id from dataset/create_employee.xml
+        // Java exists in dataset/create_employee.xml, Docker doesn't
+        request.setExpertises(List.of("Java", "Docker", "Java", "Docker"));
+
+        MvcResult result = mockMvc.perform(post("/api/employees")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isCreated())
+                .andReturn();
+        EmployeeResponse response = objectMapper
+                .readValue(result.getResponse().getContentAsString(), EmployeeResponse.class);
+        assertEquals(List.of("Java", "Docker"), response.getExpertises());
+
+        List<String> expertiseNames = expertiseRepository.findAll().stream().map(Expertise::getName).toList();
+        assertThat(expertiseNames).containsExactlyInAnyOrder("Java", "Spring boot", "Docker");
+    }
+
+    @Test
+    @DataSet("dataset/create_employee.xml")
+    public void testImportEmployeesFromCsv_shouldImportValidRowsAndReportTheOthers() throws Exception {
+        String csv = """
+                firstName,lastName,nationalId,degree,pastExperienceYear,joinedDate,dateOfBirth,graduationDate,\
+                gender,grossSalary,departmentId,teamId,managerId,expertises
+                Ahmed,Ali,NID-IMPORT-1,INTERMEDIATE,3,2022-12-05,1999-10-05,2025-06-05,MALE,5000,1,1,10,Java;Docker
+                Mona,Adel,NID-IMPORT-2,FRESH,0,2024-01-01,2000-01-01,2022-06-01,FEMALE,4000,99,1,,
+                Omar,Nabil,NID123456,FRESH,0,2024-01-01,2000-01-01,2022-06-01,MALE,4000,1,1,,
+                Sara,Hany,NID-IMPORT-3,SENIOR,5,2020-01-01,1990-01-01,2012-06-01,FEMALE,9000,1,1,,
+                """;
+
+        MvcResult result = mockMvc.perform(post("/api/employees/import")
+                        .contentType("text/csv")
+                        .content(csv))
+                .andExpect(status().isOk())
+                .andReturn();
+        EmployeeImportResponse response = objectMapper
+                .readValue(result.getResponse().getContentAsString(), EmployeeImportResponse.class);
+
+        assertEquals(4, response.getTotalRows());
+        assertEquals(2, response.getImportedRows());
+        assertEquals(2, response.getFailedRows());
+        assertEquals(List.of(2L, 3L), response.getErrors().stream().map(EmployeeImportError::getRowNumber).toList());
+        assertEquals("Department not found with id: 99", response.getErrors().get(0).getMessage());
+        assertEquals("Employee already exists with national id: NID123456", response.getErrors().get(1).getMessage());
+
+        Map<String, Object> imported = jdbcTemplate.queryForMap(
+                "SELECT id, manager_id, gross_salary FROM employees WHERE national_id = 'NID-IMPORT-1'");
+        Long importedId = ((Number) imported.get("ID")).longValue();
+        assertEquals(EXISTENT_MANAGER1_ID, ((Number) imported.get("MANAGER_ID")).longValue());
+        assertEquals(List.of("Docker", "Java"), jdbcTemplate.queryForList("""
+                SELECT ex.name FROM employee_expertise ee JOIN expertises ex ON ex.id = ee.expertise_id
+                WHERE ee.employee_id = ? ORDER BY ex.name
+                """, String.class, importedId));
+        assertEquals(SalaryReason.INITIAL_BASE_SALARY.getMessage(), jdbcTemplate.queryForObject(
+                "SELECT reason FROM employee_salaries WHERE employee_id = ?", String.class, importedId));
+        // the imported employee is under its manager in the closure table
+        assertEquals(List.of(EXISTENT_MANAGER1_ID, importedId), jdbcTemplate.queryForList(
+                "SELECT ancestor_id FROM employee_hierarchy WHERE descendant_id = ? ORDER BY depth DESC",
+                Long.class, importedId));
+        assertTrue(employeeRepository.findExistingNationalIds(List.of("NID-IMPORT-3")).contains("NID-IMPORT-3"));
+    }
+
+    @Test
+    @DataSet("dataset/create_employee.xml")
+    public void testImportEmployeesFromNdjson_shouldReportInvalidRowsAndContinue() throws Exception {
+        CreateEmployeeRequest valid = buildCreateEmployeeRequest();
+        valid.setDepartmentId(EXISTENT_DEPARTMENT1_ID);
+        valid.setTeamId(EXISTENT_TEAM1_ID);
+        valid.setExpertises(List.of("Java"));
+        CreateEmployeeRequest invalidDates = buildCreateEmployeeRequest();
+        invalidDates.setNationalId("NID-IMPORT-4");
+        invalidDates.setGraduationDate(invalidDates.getDateOfBirth().plusYears(10));
+        invalidDates.setDepartmentId(EXISTENT_DEPARTMENT1_ID);
+        invalidDates.setTeamId(EXISTENT_TEAM1_ID);
+        String ndjson = String.join("\n",
+                objectMapper.writeValueAsString(valid),
+                "{\"firstName\":\"Ahmed\",\"degree\":\"UNKNOWN\"}",
+                "{\"lastName\":\"Ali\"}",
+                objectMapper.writeValueAsString(invalidDates));
+
+        MvcResult result = mockMvc.perform(post("/api/employees/import")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(ndjson))
+                .andExpect(status().isOk())
+                .andReturn();
+        EmployeeImportResponse response = objectMapper
+                .readValue(result.getResponse().getContentAsString(), EmployeeImportResponse.class);
+
+        assertEquals(4, response.getTotalRows());
+        assertEquals(1, response.getImportedRows());
+        assertEquals(List.of(2L, 3L, 4L),
+                response.getErrors().stream().map(EmployeeImportError::getRowNumber).toList());
+        assertThat(response.getErrors().get(1).getMessage()).contains("firstName: name is required");
+        assertEquals("graduation date must be after birth date at least 20 years",
+                response.getErrors().get(2).getMessage());
+        assertEquals(1, employeeRepository.findExistingNationalIds(List.of(valid.getNationalId())).size());
+    }
+
     // if expertise name is empty, so it will skip it
     @Test
     @DataSet("dataset/create_employee.xml")
@@ -442,6 +577,68 @@ public class EmployeeControllerTest {
                 });
     }
 
+    @Test
+    @DataSet("dataset/update_employees.xml")
+    public void testUpdateEmployeeGraduationDateTooCloseToStoredBirthDate_shouldFail() throws Exception {
+        // employee 1 of dataset/update_employees.xml was born on 2003-10-05
+        UpdateEmployeeRequest request = UpdateEmployeeRequest.builder()
+                .graduationDate(LocalDate.of(2020, 6, 5)).build();
+        mockMvc.perform(patch("/api/employees/" + EXISTENT_EMPLOYEE1_ID)
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> {
+                    String json = result.getResponse().getContentAsString();
+                    ErrorCode error = objectMapper.readValue(json, ErrorCode.class);
+                    assertEquals("graduation date must be after birth date at least 20 years", error.getErrorMessage());
+                });
+    }
+
+    @Test
+    @DataSet("dataset/update_employees.xml")
+    public void testUpdateEmployeeFirstName_shouldOnlyChangeThatColumnAndKeepTheRelations() throws Exception {
+        // a serialized request would also send managerId null, which removes the manager
+        mockMvc.perform(patch("/api/employees/" + EXISTENT_EMPLOYEE1_ID)
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content("{\"firstName\": \"Ahmad\"}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Ahmad"))
+                .andExpect(jsonPath("$.expertises[0]").value("spring boot"));
+        // the change is written when the session is flushed, as it would be at commit
+        employeeRepository.flush();
+
+        Map<String, Object> row = jdbcTemplate.queryForMap(
+                "SELECT first_name, last_name, gross_salary, manager_id FROM employees WHERE id = ?",
+                EXISTENT_EMPLOYEE1_ID);
+        assertEquals("Ahmad", row.get("FIRST_NAME"));
+        assertEquals("Ali", row.get("LAST_NAME"));
+        assertThat((BigDecimal) row.get("GROSS_SALARY")).isEqualByComparingTo(BigDecimal.valueOf(1000));
+        assertEquals(EXISTENT_MANAGER1_ID, ((Number) row.get("MANAGER_ID")).longValue());
+        assertEquals(1, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employee_expertise WHERE employee_id = ?", Integer.class, EXISTENT_EMPLOYEE1_ID));
+    }
+
+    @Test
+    @DataSet("dataset/update_employees.xml")
+    public void testUpdateEmployeeWithoutExpertises_shouldLoadTheEmployeeAndItsExpertisesInOneStatement()
+            throws Exception {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+        statistics.setStatisticsEnabled(true);
+        try {
+            mockMvc.perform(patch("/api/employees/" + EXISTENT_EMPLOYEE1_ID)
+                            .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                            .content("{\"firstName\": \"Ahmad\"}"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.expertises[0]").value("spring boot"));
+
+            // the response lists the expertises without a second select on employee_expertise
+            assertEquals(1, statistics.getPrepareStatementCount());
+        } finally {
+            statistics.setStatisticsEnabled(false);
+        }
+    }
+
     @Test
     @DataSet("dataset/update_employees.xml")
     public void testUpdateEmployeeNameWithAnEmptyName_shouldFail() throws Exception {
@@ -825,6 +1022,49 @@ public class EmployeeControllerTest {
         }
     }
 
+    @Test
+    @DataSet("dataset/update_employees.xml")
+    public void testGetEmployeeInfoWithoutExpertises_shouldReturnAnEmptyExpertiseList() throws Exception {
+        // the manager Omar has no expertise in dataset/update_employees.xml
+        MvcResult result = mockMvc.perform(get("/api/employees/" + EXISTENT_MANAGER1_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Omar"))
+                .andExpect(jsonPath("$.expertises").isArray())
+                .andExpect(jsonPath("$.expertises").isEmpty())
+                .andReturn();
+        EmployeeResponse response = objectMapper
+                .readValue(result.getResponse().getContentAsString(), EmployeeResponse.class);
+        assertEquals(List.of(), response.getExpertises());
+    }
+
+    @Test
+    @DataSet("dataset/update_employees.xml")
+    public void testGetEmployeeInfoWithCurrentETag_shouldReturnNotModifiedUntilTheEmployeeChanges() throws Exception {
+        String etag = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().string(""));
+
+        mockMvc.perform(patch("/api/employees/" + EXISTENT_EMPLOYEE1_ID)
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content("{\"firstName\": \"Ahmad\"}"))
+                .andExpect(status().isOk());
+
+        // the update increased the version, so the old ETag no longer matches
+        MvcResult result = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Ahmad"))
+                .andReturn();
+        assertNotEquals(etag, result.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
     @Test
     @DataSet("dataset/update_employees.xml")
     public void testGetEmployeeInfoWithNotFoundEmployee_shouldFail() throws Exception {
@@ -992,6 +1232,25 @@ public class EmployeeControllerTest {
         assertTrue(actualEmployeeNames.containsAll(expectedEmployeeNames));
     }
 
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployeesUnderManger_shouldReturnTheExpertisesOfEachEmployee() throws Exception {
+        // only B has expertises and one of their names contains a comma, the others have none
+        MvcResult result = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/hierarchy"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[1].expertises").isArray())
+                .andExpect(jsonPath("$[1].expertises").isEmpty())
+                .andReturn();
+        List<EmployeeResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        for (EmployeeResponse employee : response) {
+            List<String> expectedExpertises = employee.getFirstName().equals("B")
+                    ? List.of("Java", "Spring, Boot")
+                    : List.of();
+            assertEquals(expectedExpertises, employee.getExpertises());
+        }
+    }
+
     @Test
     @DataSet("dataset/get-employees-under-manager.xml")
     public void testGetEmployeesUnderEmployeeHasNoSubordinates_shouldSuccessAndReturnEmptyList() throws Exception {
@@ -1027,6 +1286,222 @@ public class EmployeeControllerTest {
                 });
     }
 
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployeesUnderManagerAfterChangingManager_shouldReturnTheMovedSubtree() throws Exception {
+        /*
+                1                     1
+                A                     A
+              /   \                   |
+             2     5                  5
+             B     E       ->         E
+            / \    |                 / \
+           3   4   6               2   6
+           C   D   F               B   F
+                                  / \
+                                 3   4
+                                 C   D
+        */
+        // move employee B under employee E
+        UpdateEmployeeRequest request = UpdateEmployeeRequest.builder()
+                .managerId(Optional.of(5L))
+                .build();
+        mockMvc.perform(patch("/api/employees/" + EXISTENT_EMPLOYEE2_ID)
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/api/employees/5/hierarchy"))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<EmployeeResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        List<String> actualEmployeeNames = response.stream().map(EmployeeResponse::getFirstName).toList();
+        List<String> expectedEmployeeNames = List.of("B", "C", "D", "F");
+        assertEquals(expectedEmployeeNames.size(), actualEmployeeNames.size());
+        assertTrue(expectedEmployeeNames.containsAll(actualEmployeeNames));
+
+        // employee A still manages everyone
+        result = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/hierarchy"))
+                .andExpect(status().isOk())
+                .andReturn();
+        response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        assertEquals(5, response.size());
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testUpdateEmployeeManagerToHisSubordinate_shouldFailAndReturnConflict() throws Exception {
+        /*
+                1
+                A
+              /   \
+             2     5
+             B     E
+            / \    |
+           3   4   6
+           C   D   F
+        */
+        // employee C is under employee A, so A can't be managed by C
+        UpdateEmployeeRequest request = UpdateEmployeeRequest.builder()
+                .managerId(Optional.of(EXISTENT_SUBORDINATES1_ID))
+                .build();
+        mockMvc.perform(patch("/api/employees/" + EXISTENT_EMPLOYEE1_ID)
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isConflict())
+                .andExpect(result -> {
+                    String json = result.getResponse().getContentAsString();
+                    ErrorCode error = objectMapper.readValue(json, ErrorCode.class);
+                    assertEquals("Cycle detected in employee hierarchy", error.getErrorMessage());
+                });
+    }
+
+    @Test
+    @DataSet("dataset/delete_employees.xml")
+    public void testDeleteEmployeeHasManagerAndHasSubordinates_shouldMoveHisSubordinatesUpInTheHierarchy()
+            throws Exception {
+    /*
+              1
+             Omar
+              |
+              2
+            Ahmed
+            /    \
+            3     4
+        Mohamed Mahmoud
+    */
+        mockMvc.perform(delete("/api/employees/" + EXISTENT_EMPLOYEE2_ID))
+                .andExpect(status().isNoContent());
+
+        // Mohamed and Mahmoud are now directly under Omar and Ahmed is no longer in the hierarchy
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("""
+                SELECT ancestor_id, descendant_id, depth
+                FROM employee_hierarchy
+                WHERE ancestor_id = ? OR descendant_id = ?
+                ORDER BY ancestor_id, descendant_id
+                """, EXISTENT_EMPLOYEE1_ID, EXISTENT_EMPLOYEE2_ID);
+        List<List<Long>> actualRows = rows.stream()
+                .map(row -> List.of(((Number) row.get("ANCESTOR_ID")).longValue(),
+                        ((Number) row.get("DESCENDANT_ID")).longValue(),
+                        ((Number) row.get("DEPTH")).longValue()))
+                .toList();
+        assertEquals(List.of(List.of(1L, 1L, 0L), List.of(1L, 3L, 1L), List.of(1L, 4L, 1L)), actualRows);
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployeesUnderMangerByPages_shouldReturnEachPageAfterTheCursor() throws Exception {
+        /*
+                1
+                A
+              /   \
+             2     5
+             B     E
+            / \    |
+           3   4   6
+           C   D   F
+        */
+        // pages of 2 employees ordered by id, the next cursor is the last id of a full page
+        MvcResult result = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/hierarchy")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(EmployeePageResponses.NEXT_CURSOR_HEADER, "3"))
+                .andReturn();
+        List<EmployeeResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        assertEquals(List.of("B", "C"), response.stream().map(EmployeeResponse::getFirstName).toList());
+
+        result = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/hierarchy")
+                        .param("after", "3")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(EmployeePageResponses.NEXT_CURSOR_HEADER, "5"))
+                .andReturn();
+        response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        assertEquals(List.of("D", "E"), response.stream().map(EmployeeResponse::getFirstName).toList());
+
+        // the last page isn't full, so there is no next cursor
+        result = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/hierarchy")
+                        .param("after", "5")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(EmployeePageResponses.NEXT_CURSOR_HEADER))
+                .andReturn();
+        response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        assertEquals(List.of("F"), response.stream().map(EmployeeResponse::getFirstName).toList());
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployeesUnderMangerWithoutCursorAndLimit_shouldReturnTheWholeList() throws Exception {
+        // requests from before the lists were paged are answered with every employee and no cursor
+        MvcResult result = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/hierarchy"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(EmployeePageResponses.NEXT_CURSOR_HEADER))
+                .andReturn();
+        List<EmployeeResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        assertEquals(List.of("B", "C", "D", "E", "F"), response.stream().map(EmployeeResponse::getFirstName).toList());
+
+        // a cursor alone is paged with the default limit
+        result = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/hierarchy")
+                        .param("after", "3"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(EmployeePageResponses.NEXT_CURSOR_HEADER))
+                .andReturn();
+        response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        assertEquals(List.of("D", "E", "F"), response.stream().map(EmployeeResponse::getFirstName).toList());
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployeesUnderMangerWithInvalidLimit_shouldFailAndReturnBadRequest() throws Exception {
+        mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/hierarchy")
+                        .param("limit", "0"))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> {
+                    String json = result.getResponse().getContentAsString();
+                    ErrorCode error = objectMapper.readValue(json, ErrorCode.class);
+                    assertEquals("limit must be between 1 and 1000", error.getErrorMessage());
+                });
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testStreamEmployeesUnderManger_shouldWriteOneEmployeePerLine() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/hierarchy")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn();
+        List<String> actualEmployeeNames = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            actualEmployeeNames.add(objectMapper.readValue(line, EmployeeResponse.class).getFirstName());
+        }
+        assertEquals(List.of("B", "C", "D", "E", "F"), actualEmployeeNames);
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testStreamEmployeesUnderNotFoundEmployee_shouldFailAndReturnNotFound() throws Exception {
+        mockMvc.perform(get("/api/employees/" + NON_EXISTENT_ID + "/hierarchy")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(status().isNotFound())
+                .andExpect(result -> {
+                    String json = result.getResponse().getContentAsString();
+                    ErrorCode error = objectMapper.readValue(json, ErrorCode.class);
+                    assertEquals("Employee not found with id: " + NON_EXISTENT_ID, error.getErrorMessage());
+                });
+    }
+
     @Test
     @DataSet("dataset/get-employees-under-manager.xml")
     public void testGetDirectEmployeesUnderManager_shouldReturnHisSubordinates() throws Exception {
@@ -1053,6 +1528,19 @@ public class EmployeeControllerTest {
         assertTrue(actualEmployeeNames.containsAll(expectedEmployeeNames));
     }
 
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetDirectEmployeesUnderManager_shouldReturnTheExpertisesOfEachEmployee() throws Exception {
+        // B has two expertises, one of them with a comma in its name, and E has none
+        mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/subordinates"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].firstName").value("B"))
+                .andExpect(jsonPath("$[0].expertises", contains("Java", "Spring, Boot")))
+                .andExpect(jsonPath("$[1].firstName").value("E"))
+                .andExpect(jsonPath("$[1].expertises").isArray())
+                .andExpect(jsonPath("$[1].expertises").isEmpty());
+    }
+
     @Test
     @DataSet("dataset/get-employees-under-manager.xml")
     public void testGetDirectEmployeesUnderManagerWithNoSubordinates_shouldReturnEmptyList() throws Exception {
@@ -1128,6 +1616,30 @@ public class EmployeeControllerTest {
         assertEquals(EXISTENT_EMPLOYEE1_ID, insertedEmployeeSalary.getEmployee().getId());
     }
 
+    @Test
+    @DataSet("dataset/update_employee_salary.xml")
+    public void testUpdateEmployeeSalaryWithLowerSalary_shouldBecomeTheCurrentSalary() throws Exception {
+        // employee with id 1 earns (100_000), a pay cut must replace it even though it is lower
+        final BigDecimal lowerSalary = BigDecimal.valueOf(50000);
+        UpdateSalaryRequest request = UpdateSalaryRequest.builder()
+                .grossSalary(lowerSalary)
+                .build();
+
+        mockMvc.perform(put("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/salary")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        MvcResult result = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/salary"))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        SalaryDto response = objectMapper.readValue(result.getResponse().getContentAsString(), SalaryDto.class);
+        assertThat(response.getGrossSalary()).isEqualByComparingTo(lowerSalary);
+        assertThat(employeeRepository.findById(EXISTENT_EMPLOYEE1_ID).get().getGrossSalary())
+                .isEqualByComparingTo(lowerSalary);
+    }
+
     @Test
     @DataSet("dataset/update_employee_salary.xml")
     public void testUpdateEmployeeSalaryWithNegativeSalary_shouldFailAndShouldReturnBadRequest() throws Exception {
@@ -1319,4 +1831,136 @@ public class EmployeeControllerTest {
                 .andExpect(result -> assertTrue(result.getResponse().getContentAsString()
                         .contains("Employee not found with id: " + NON_EXISTENT_ID)));
     }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testAdjustSalaries_shouldApplyAmountsAndPercentagesAndAddSalaryHistory() throws Exception {
+        // every employee of dataset/get-employees-under-manager.xml earns 1000
+        BulkSalaryAdjustmentRequest request = BulkSalaryAdjustmentRequest.builder()
+                .adjustments(List.of(
+                        SalaryAdjustmentRequest.builder().employeeId(1L).amount(BigDecimal.valueOf(500)).build(),
+                        SalaryAdjustmentRequest.builder().employeeId(2L).percentage(BigDecimal.TEN).build(),
+                        SalaryAdjustmentRequest.builder().employeeId(3L).percentage(BigDecimal.valueOf(-5))
+                                .reason("Annual review").build()))
+                .build();
+
+        MvcResult result = mockMvc.perform(post("/api/employees/salary-adjustments")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andReturn();
+        BulkSalaryAdjustmentResponse response = objectMapper
+                .readValue(result.getResponse().getContentAsString(), BulkSalaryAdjustmentResponse.class);
+
+        assertEquals(3, response.getAdjustedEmployees());
+        assertThat(response.getGrossSalaryChange()).isEqualByComparingTo(BigDecimal.valueOf(550));
+        List<BigDecimal> grossSalaries = jdbcTemplate.queryForList(
+                "SELECT gross_salary FROM employees WHERE id IN (1, 2, 3, 4) ORDER BY id", BigDecimal.class);
+        assertThat(grossSalaries).usingElementComparator(BigDecimal::compareTo).containsExactly(
+                BigDecimal.valueOf(1500), BigDecimal.valueOf(1100), BigDecimal.valueOf(950), BigDecimal.valueOf(1000));
+        List<String> reasons = jdbcTemplate.queryForList("""
+                SELECT reason FROM employee_salaries
+                WHERE employee_id IN (1, 2, 3) AND reason <> ?
+                ORDER BY employee_id
+                """, String.class, SalaryReason.INITIAL_BASE_SALARY.getMessage());
+        assertEquals(List.of(SalaryReason.SALARY_RAISED.getMessage(), SalaryReason.SALARY_RAISED.getMessage(),
+                "Annual review"), reasons);
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testAdjustSalariesWithInvalidEntries_shouldFailWithoutChangingAnySalary() throws Exception {
+        BulkSalaryAdjustmentRequest request = BulkSalaryAdjustmentRequest.builder()
+                .adjustments(List.of(
+                        SalaryAdjustmentRequest.builder().employeeId(1L).amount(BigDecimal.valueOf(500)).build(),
+                        SalaryAdjustmentRequest.builder().employeeId(NON_EXISTENT_ID)
+                                .amount(BigDecimal.valueOf(500)).build(),
+                        SalaryAdjustmentRequest.builder().employeeId(2L).amount(BigDecimal.valueOf(-1000)).build(),
+                        SalaryAdjustmentRequest.builder().employeeId(3L).amount(BigDecimal.ONE)
+                                .percentage(BigDecimal.ONE).build()))
+                .build();
+
+        mockMvc.perform(post("/api/employees/salary-adjustments")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest())
+                .andExpect(result -> {
+                    ErrorCode error = objectMapper.readValue(result.getResponse().getContentAsString(),
+                            ErrorCode.class);
+                    assertEquals("Invalid salary adjustments: "
+                            + "entry 2 (employee -1): employee not found; "
+                            + "entry 3 (employee 2): gross salary must stay positive; "
+                            + "entry 4 (employee 3): either amount or percentage is required",
+                            error.getErrorMessage());
+                });
+
+        assertEquals(0, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM employees WHERE gross_salary <> 1000", Integer.class));
+    }
+
+    private String getEmployeeETag(Long id) throws Exception {
+        return mockMvc.perform(get("/api/employees/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+    }
+
+    private void assertETagChanged(Long id, String etag) throws Exception {
+        mockMvc.perform(get("/api/employees/" + id)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    @DataSet("dataset/update_employee_salary.xml")
+    public void testUpdateEmployeeSalary_shouldChangeTheEmployeeETag() throws Exception {
+        String etag = getEmployeeETag(EXISTENT_EMPLOYEE1_ID);
+        UpdateSalaryRequest request = UpdateSalaryRequest.builder()
+                .grossSalary(POSITIVE_SALARY)
+                .build();
+
+        mockMvc.perform(put("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/salary")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        assertETagChanged(EXISTENT_EMPLOYEE1_ID, etag);
+    }
+
+    @Test
+    @DataSet("dataset/raise_employee_salary.xml")
+    public void testRaiseEmployeeSalary_shouldChangeTheEmployeeETag() throws Exception {
+        String etag = getEmployeeETag(EXISTENT_EMPLOYEE1_ID);
+        RaiseSalaryRequest request = RaiseSalaryRequest.builder()
+                .amount(POSITIVE_AMOUNT)
+                .build();
+
+        mockMvc.perform(post("/api/employees/" + EXISTENT_EMPLOYEE1_ID + "/salary-raises")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        assertETagChanged(EXISTENT_EMPLOYEE1_ID, etag);
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testAdjustSalaries_shouldChangeTheETagOfTheAdjustedEmployeesOnly() throws Exception {
+        String adjustedETag = getEmployeeETag(EXISTENT_EMPLOYEE1_ID);
+        String untouchedETag = getEmployeeETag(EXISTENT_EMPLOYEE2_ID);
+        BulkSalaryAdjustmentRequest request = BulkSalaryAdjustmentRequest.builder()
+                .adjustments(List.of(
+                        SalaryAdjustmentRequest.builder().employeeId(1L).amount(BigDecimal.valueOf(500)).build()))
+                .build();
+
+        mockMvc.perform(post("/api/employees/salary-adjustments")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+
+        assertETagChanged(EXISTENT_EMPLOYEE1_ID, adjustedETag);
+        mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE2_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, untouchedETag))
+                .andExpect(status().isNotModified());
+    }
 }
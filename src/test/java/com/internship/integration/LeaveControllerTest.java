@@ -17,15 +17,22 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -44,6 +51,8 @@ public class LeaveControllerTest {
     private EmployeeRepository employeeRepository;
     @Autowired
     private LeaveRepository leaveRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
 
     @Test
     @DataSet("dataset/create_leave.xml")
@@ -160,6 +169,45 @@ public class LeaveControllerTest {
         }
     }
 
+    @Test
+    @DataSet("dataset/create_leave.xml")
+    public void testAddLeavesInTwoMonths_shouldCountThemInTheYearlyLeaveBalance() throws Exception {
+        // from (Wed) 1 jan 2020 to (Thu) 2 jan 2020 -> 2 days in january
+        // from (Wed) 29 jan 2020 to (Mon) 3 feb 2020 -> 2 days in january and 2 in february, Fri and Sat excluded
+        List<CreateLeaveRequest> requests = List.of(
+                CreateLeaveRequest.builder()
+                        .startDate(LocalDate.of(2020, 1, 1))
+                        .endDate(LocalDate.of(2020, 1, 2))
+                        .employeeId(EXISTENT_EMPLOYEE_ID)
+                        .build(),
+                CreateLeaveRequest.builder()
+                        .startDate(LocalDate.of(2020, 1, 29))
+                        .endDate(LocalDate.of(2020, 2, 3))
+                        .employeeId(EXISTENT_EMPLOYEE_ID)
+                        .build());
+
+        final LocalDate mockedToday = LocalDate.of(2020, 1, 1);
+        try (MockedStatic<LocalDate> mocked = Mockito.mockStatic(LocalDate.class, Mockito.CALLS_REAL_METHODS)) {
+            mocked.when(LocalDate::now).thenReturn(mockedToday);
+            for (CreateLeaveRequest request : requests) {
+                mockMvc.perform(post("/api/leave")
+                                .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                                .content(objectMapper.writeValueAsString(request)))
+                        .andExpect(status().isCreated());
+            }
+        }
+
+        Map<String, Object> balance = jdbcTemplate.queryForMap("""
+                SELECT days_taken, month_1_days, month_2_days, month_3_days
+                FROM employee_leave_balances
+                WHERE employee_id = ? AND leave_year = 2020
+                """, EXISTENT_EMPLOYEE_ID);
+        assertEquals(6, ((Number) balance.get("DAYS_TAKEN")).intValue());
+        assertEquals(4, ((Number) balance.get("MONTH_1_DAYS")).intValue());
+        assertEquals(2, ((Number) balance.get("MONTH_2_DAYS")).intValue());
+        assertEquals(0, ((Number) balance.get("MONTH_3_DAYS")).intValue());
+    }
+
     @Test
     @DataSet("dataset/create_leave.xml")
     public void testAddLeaveWithNotFoundEmployee_shouldFailAndReturnEmployeeNotFound() throws Exception {
@@ -284,4 +332,32 @@ public class LeaveControllerTest {
                             .contains("end date must be in the same current year")));
         }
     }
+
+    @Test
+    @DataSet("dataset/create_leave.xml")
+    public void testAddLeave_shouldChangeTheEmployeeETag() throws Exception {
+        String etag = mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE_ID))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        CreateLeaveRequest request = CreateLeaveRequest.builder()
+                .startDate(LocalDate.of(2020, 1, 1))
+                .endDate(LocalDate.of(2020, 1, 2))
+                .employeeId(EXISTENT_EMPLOYEE_ID)
+                .build();
+
+        final LocalDate mockedToday = LocalDate.of(2020, 1, 1);
+        try (MockedStatic<LocalDate> mocked = Mockito.mockStatic(LocalDate.class, Mockito.CALLS_REAL_METHODS)) {
+            mocked.when(LocalDate::now).thenReturn(mockedToday);
+            mockMvc.perform(post("/api/leave")
+                            .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                            .content(objectMapper.writeValueAsString(request)))
+                    .andExpect(status().isCreated());
+        }
+
+        // the leaves are part of the employee, so the old ETag no longer matches
+        mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE_ID)
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
 }
@@ -0,0 +1,131 @@
+package com.internship.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.spring.api.DBRider;
+import com.internship.dto.CreateLeaveRequest;
+import com.internship.dto.CreateLeaveResponse;
+import com.internship.service.PayrollService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DBRider
+@TestPropertySource(properties = {
+        "leave.storage=ranges",
+        "spring.task.scheduling.enabled=false"
+})
+public class LeaveRangeStorageTest {
+    private static final Long EXISTENT_EMPLOYEE_ID = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PayrollService payrollService;
+
+    private ResultActions addLeave(LocalDate startDate, LocalDate endDate, LocalDate today) throws Exception {
+        CreateLeaveRequest request = CreateLeaveRequest.builder()
+                .startDate(startDate)
+                .endDate(endDate)
+                .employeeId(EXISTENT_EMPLOYEE_ID)
+                .build();
+        try (MockedStatic<LocalDate> mocked = Mockito.mockStatic(LocalDate.class, Mockito.CALLS_REAL_METHODS)) {
+            mocked.when(LocalDate::now).thenReturn(today);
+            return mockMvc.perform(post("/api/leave")
+                    .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                    .content(objectMapper.writeValueAsString(request)));
+        }
+    }
+
+    @Test
+    @DataSet("dataset/create_leave.xml")
+    public void testAddLongLeave_shouldStoreOneRangeWithItsWorkingDays() throws Exception {
+        // from (Mon) 3 feb 2020 to (Fri) 31 jul 2020, a six months absence of 129 working days
+        MvcResult result = addLeave(LocalDate.of(2020, 2, 3), LocalDate.of(2020, 7, 31), LocalDate.of(2020, 2, 1))
+                .andExpect(status().isCreated())
+                .andReturn();
+        List<CreateLeaveResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, CreateLeaveResponse.class));
+
+        // the response still has one entry for every working day, Fri and Sat excluded
+        assertEquals(129, response.size());
+        assertTrue(response.stream().map(CreateLeaveResponse::getLeaveDate)
+                .noneMatch(date -> date.getDayOfWeek().getValue() >= 5 && date.getDayOfWeek().getValue() <= 6));
+
+        Map<String, Object> range = jdbcTemplate.queryForMap(
+                "SELECT start_date, end_date, working_days FROM leave_ranges WHERE employee_id = ?",
+                EXISTENT_EMPLOYEE_ID);
+        assertEquals(129, ((Number) range.get("WORKING_DAYS")).intValue());
+        assertEquals(0, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM leaves", Integer.class));
+        assertEquals(129, jdbcTemplate.queryForObject(
+                "SELECT days_taken FROM employee_leave_balances WHERE employee_id = ? AND leave_year = 2020",
+                Integer.class, EXISTENT_EMPLOYEE_ID));
+    }
+
+    @Test
+    @DataSet("dataset/create_leave.xml")
+    public void testAddOverlappingLeaveRange_shouldFailAndReturnIsConflict() throws Exception {
+        addLeave(LocalDate.of(2020, 1, 5), LocalDate.of(2020, 1, 16), LocalDate.of(2020, 1, 1))
+                .andExpect(status().isCreated());
+
+        // the new range starts on the last day of the stored one
+        addLeave(LocalDate.of(2020, 1, 16), LocalDate.of(2020, 1, 20), LocalDate.of(2020, 1, 1))
+                .andExpect(status().isConflict())
+                .andExpect(result -> assertTrue(result.getResponse().getContentAsString()
+                        .contains("This employee already has a leave recorded for the specified date")));
+
+        // a range right after it is accepted
+        addLeave(LocalDate.of(2020, 1, 17), LocalDate.of(2020, 1, 20), LocalDate.of(2020, 1, 1))
+                .andExpect(status().isCreated());
+    }
+
+    @Test
+    @DataSet("dataset/create_leave.xml")
+    public void testGeneratePayrollWithLeaveRange_shouldDeductTheDaysOverTheAllowance() throws Exception {
+        // from (Wed) 1 jan 2020 to (Fri) 28 feb 2020 -> 22 working days in january and 20 in february
+        addLeave(LocalDate.of(2020, 1, 1), LocalDate.of(2020, 2, 28), LocalDate.of(2020, 1, 1))
+                .andExpect(status().isCreated());
+
+        final LocalDate mockedToday = LocalDate.of(2020, 3, 1);
+        try (MockedStatic<LocalDate> mocked = Mockito.mockStatic(LocalDate.class, Mockito.CALLS_REAL_METHODS)) {
+            mocked.when(LocalDate::now).thenReturn(mockedToday);
+            payrollService.generatePayroll();
+        }
+
+        // joined in 2010 so the allowance is 30 days, 22 + 20 - 30 = 12 days are deducted in february
+        // deduction = 1000000 / 30 * 12, the same as with 42 rows in the leaves table
+        BigDecimal leavesDeduction = jdbcTemplate.queryForObject("""
+                SELECT leaves_deduction FROM employee_payroll
+                WHERE employee_id = ? AND payroll_year = 2020 AND payroll_month = 2
+                """, BigDecimal.class, EXISTENT_EMPLOYEE_ID);
+        assertThat(leavesDeduction).isEqualByComparingTo(BigDecimal.valueOf(400000));
+    }
+}
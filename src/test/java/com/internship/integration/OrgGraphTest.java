@@ -0,0 +1,143 @@
+package com.internship.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.spring.api.DBRider;
+import com.internship.dto.EmployeeResponse;
+import com.internship.dto.UpdateEmployeeRequest;
+import com.internship.exception.ErrorCode;
+import com.internship.service.OrgGraphService;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DBRider
+@TestPropertySource(properties = {
+        "org-graph.enabled=true"
+})
+public class OrgGraphTest {
+    private static final Long NON_EXISTENT_ID = -1L;
+    private static final Long EXISTENT_EMPLOYEE_A_ID = 1L;
+    private static final Long EXISTENT_EMPLOYEE_B_ID = 2L;
+    private static final Long EXISTENT_EMPLOYEE_E_ID = 5L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private OrgGraphService orgGraphService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private List<String> getEmployeeNames(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<EmployeeResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        return response.stream().map(EmployeeResponse::getFirstName).toList();
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployeesUnderManagerFromOrgGraph_shouldReturnAllEmployeesUnderManagerOrderedById()
+            throws Exception {
+        /*
+                1
+                A
+              /   \
+             2     5
+             B     E
+            / \    |
+           3   4   6
+           C   D   F
+        */
+        // the dataset is inserted after the application started, so the graph is loaded again
+        orgGraphService.reload();
+
+        assertEquals(List.of("B", "C", "D", "E", "F"),
+                getEmployeeNames("/api/employees/" + EXISTENT_EMPLOYEE_A_ID + "/hierarchy"));
+        assertEquals(List.of("B", "E"),
+                getEmployeeNames("/api/employees/" + EXISTENT_EMPLOYEE_A_ID + "/subordinates"));
+        assertEquals(List.of(), getEmployeeNames("/api/employees/6/hierarchy"));
+        // pages are cut from the sorted ids after the cursor
+        assertEquals(List.of("D", "E"),
+                getEmployeeNames("/api/employees/" + EXISTENT_EMPLOYEE_A_ID + "/hierarchy?after=3&limit=2"));
+        assertEquals(List.of("E"),
+                getEmployeeNames("/api/employees/" + EXISTENT_EMPLOYEE_A_ID + "/subordinates?after=2&limit=5"));
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployeesUnderNotFoundEmployeeFromOrgGraph_shouldFailAndReturnNotFound() throws Exception {
+        orgGraphService.reload();
+
+        mockMvc.perform(get("/api/employees/" + NON_EXISTENT_ID + "/hierarchy"))
+                .andExpect(status().isNotFound())
+                .andExpect(result -> {
+                    String json = result.getResponse().getContentAsString();
+                    ErrorCode error = objectMapper.readValue(json, ErrorCode.class);
+                    assertEquals("Employee not found with id: " + NON_EXISTENT_ID, error.getErrorMessage());
+                });
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployeesUnderManagerAfterChangingManager_shouldReturnTheUpdatedOrgGraph() throws Exception {
+        /*
+                1                     1
+                A                     A
+              /   \                   |
+             2     5                  5
+             B     E       ->         E
+            / \    |                 / \
+           3   4   6               2   6
+           C   D   F               B   F
+                                  / \
+                                 3   4
+                                 C   D
+        */
+        orgGraphService.reload();
+
+        UpdateEmployeeRequest request = UpdateEmployeeRequest.builder()
+                .managerId(Optional.of(EXISTENT_EMPLOYEE_E_ID))
+                .build();
+        mockMvc.perform(patch("/api/employees/" + EXISTENT_EMPLOYEE_B_ID)
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk());
+        // the graph follows the change once it is committed
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            assertEquals(List.of("B", "C", "D", "F"),
+                    getEmployeeNames("/api/employees/" + EXISTENT_EMPLOYEE_E_ID + "/hierarchy"));
+            assertEquals(List.of("B", "F"),
+                    getEmployeeNames("/api/employees/" + EXISTENT_EMPLOYEE_E_ID + "/subordinates"));
+            assertEquals(List.of("E"),
+                    getEmployeeNames("/api/employees/" + EXISTENT_EMPLOYEE_A_ID + "/subordinates"));
+        } finally {
+            DatabaseCleaner.deleteAll(jdbcTemplate);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package com.internship.integration;
+
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.spring.api.DBRider;
+import com.internship.config.PayrollProperties;
+import com.internship.dto.CreateLeaveRequest;
+import com.internship.entity.PayrollJob;
+import com.internship.enums.PayrollJobStatus;
+import com.internship.repository.BatchInsertRepository;
+import com.internship.repository.PayrollJobRepository;
+import com.internship.service.LeaveService;
+import com.internship.service.PayrollService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.MockedStatic;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.internship.enums.PayrollJobStatus.*;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+// Not transactional, so every chunk of the job is really committed or rolled back like in production.
+@SpringBootTest
+@DBRider
+@TestPropertySource(properties = {
+        "spring.task.scheduling.enabled=false",
+        "payroll.partitions=1"
+})
+public class PayrollJobTest {
+    static final LocalDate FIXED_DATE = LocalDate.of(2020, 3, 1);
+
+    @Autowired
+    private PayrollService payrollService;
+    @Autowired
+    private PayrollJobRepository payrollJobRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private PayrollProperties payrollProperties;
+    @Autowired
+    private LeaveService leaveService;
+    @MockitoSpyBean
+    private BatchInsertRepository batchInsertRepository;
+
+    @AfterEach
+    public void tearDown() {
+        DatabaseCleaner.deleteAll(jdbcTemplate);
+    }
+
+    // generates the payroll of February 2020
+    private void generatePayroll() {
+        try (MockedStatic<LocalDate> mocked = Mockito.mockStatic(LocalDate.class, Mockito.CALLS_REAL_METHODS)) {
+            mocked.when(LocalDate::now).thenReturn(FIXED_DATE);
+            payrollService.generatePayroll();
+        }
+    }
+
+    private PayrollJob getJob() {
+        return payrollJobRepository.findByPayrollYearAndPayrollMonth(2020, 2).get();
+    }
+
+    private List<Long> getPaidEmployeeIds() {
+        return jdbcTemplate.queryForList("SELECT employee_id FROM employee_payroll ORDER BY employee_id", Long.class);
+    }
+
+    // every payroll row without its generated id
+    private List<Map<String, Object>> getPayrolls() {
+        return jdbcTemplate.queryForList("""
+                SELECT employee_id, payroll_year, payroll_month, gross_salary, bonus, tax_amount, insurance_deduction,
+                       leaves_deduction, net_salary
+                FROM employee_payroll
+                ORDER BY employee_id
+                """);
+    }
+
+    // a job of February 2020 left by another run, with one partition covering every employee
+    private void insertJob(PayrollJobStatus status, LocalDateTime updatedAt) {
+        jdbcTemplate.update("""
+                INSERT INTO payroll_jobs (payroll_year, payroll_month, status, processed_employees, updated_at)
+                VALUES (2020, 2, ?, 0, ?)
+                """, status.name(), updatedAt);
+        jdbcTemplate.update("""
+                INSERT INTO payroll_job_partitions (job_id, range_start, range_end, last_employee_id, status)
+                SELECT id, 0, 9223372036854775807, 0, 'RUNNING' FROM payroll_jobs
+                """);
+    }
+
+    // 24 working days of leave in January and February 2020, 3 of them over the yearly allowance
+    private void addLeaves(Long employeeId) {
+        try (MockedStatic<LocalDate> mocked = Mockito.mockStatic(LocalDate.class, Mockito.CALLS_REAL_METHODS)) {
+            LocalDate january = LocalDate.of(2020, 1, 1);
+            mocked.when(LocalDate::now).thenReturn(january);
+            leaveService.addLeave(CreateLeaveRequest.builder()
+                    .employeeId(employeeId)
+                    .startDate(LocalDate.of(2020, 1, 13))
+                    .endDate(LocalDate.of(2020, 2, 14))
+                    .build());
+        }
+    }
+
+    @Test
+    @DataSet("dataset/employees_payroll.xml")
+    public void testGeneratePayrollFailingInTheSecondChunk_shouldKeepTheFirstChunkAndResumeAfterIt() {
+        // chunks of 2 employees, the rows of the second chunk are inserted and then its transaction fails
+        AtomicInteger chunks = new AtomicInteger();
+        doAnswer(invocation -> {
+            Object inserted = invocation.callRealMethod();
+            if (chunks.incrementAndGet() == 2) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            return inserted;
+        }).when(batchInsertRepository).insertPayrolls(anyList());
+
+        assertThrows(DataAccessResourceFailureException.class, this::generatePayroll);
+
+        PayrollJob failedJob = getJob();
+        assertEquals(FAILED, failedJob.getStatus());
+        assertEquals(2, failedJob.getProcessedEmployees());
+        assertEquals(List.of(1L, 2L), getPaidEmployeeIds());
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT last_employee_id FROM payroll_job_partitions",
+                Long.class));
+
+        Mockito.reset(batchInsertRepository);
+        generatePayroll();
+
+        PayrollJob resumedJob = getJob();
+        assertEquals(COMPLETED, resumedJob.getStatus());
+        assertEquals(4, resumedJob.getProcessedEmployees());
+        assertEquals(List.of(1L, 2L, 3L, 4L), getPaidEmployeeIds());
+        // only the chunk after the checkpoint is computed again
+        verify(batchInsertRepository, times(1)).insertPayrolls(anyList());
+    }
+
+    @Test
+    @DataSet("dataset/employees_payroll.xml")
+    public void testGeneratePayrollWhileAnotherRunOwnsTheJob_shouldNotProcessAnyEmployee() {
+        insertJob(RUNNING, LocalDateTime.now());
+
+        generatePayroll();
+
+        PayrollJob job = getJob();
+        assertEquals(RUNNING, job.getStatus());
+        assertEquals(0, job.getProcessedEmployees());
+        assertEquals(List.of(), getPaidEmployeeIds());
+    }
+
+    @Test
+    @DataSet("dataset/employees_payroll.xml")
+    public void testGeneratePayrollWhenTheRunningJobStoppedCommitting_shouldResumeIt() {
+        // the run owning the job committed nothing for longer than the claim timeout
+        insertJob(RUNNING, LocalDateTime.now().minusHours(1));
+
+        generatePayroll();
+
+        PayrollJob job = getJob();
+        assertEquals(COMPLETED, job.getStatus());
+        assertEquals(4, job.getProcessedEmployees());
+        assertEquals(List.of(1L, 2L, 3L, 4L), getPaidEmployeeIds());
+    }
+
+    @Test
+    @DataSet("dataset/employees_payroll.xml")
+    public void testGeneratePayrollOnParallelPartitions_shouldWriteTheSameRowsAsASequentialRun() {
+        addLeaves(3L);
+        generatePayroll();
+        List<Map<String, Object>> sequentialPayrolls = getPayrolls();
+        assertEquals(4, sequentialPayrolls.size());
+        // the month has bonuses, and leaves above the yearly allowance
+        assertTrue(sequentialPayrolls.stream().anyMatch(row -> ((BigDecimal) row.get("bonus")).signum() > 0));
+        assertTrue(sequentialPayrolls.stream()
+                .anyMatch(row -> ((BigDecimal) row.get("leaves_deduction")).signum() > 0));
+        jdbcTemplate.update("DELETE FROM employee_payroll");
+        jdbcTemplate.update("DELETE FROM payroll_job_partitions");
+        jdbcTemplate.update("DELETE FROM payroll_jobs");
+
+        // one employee in each of the 4 ranges computed by 3 workers, each chunk in its own transaction
+        payrollProperties.setParallelism(3);
+        payrollProperties.setPartitions(4);
+        try {
+            generatePayroll();
+        } finally {
+            payrollProperties.setParallelism(1);
+            payrollProperties.setPartitions(1);
+        }
+
+        PayrollJob job = getJob();
+        assertEquals(COMPLETED, job.getStatus());
+        assertEquals(4, job.getProcessedEmployees());
+        assertEquals(4L, jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM payroll_job_partitions WHERE status = 'COMPLETED'", Long.class));
+        assertEquals(sequentialPayrolls, getPayrolls());
+    }
+}
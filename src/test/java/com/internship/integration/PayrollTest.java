@@ -5,10 +5,14 @@ import com.github.database.rider.core.api.dataset.ExpectedDataSet;
 import com.github.database.rider.spring.api.DBRider;
 import com.internship.entity.Employee;
 import com.internship.entity.Leave;
-import com.internship.exception.ApiError;
-import com.internship.exception.BusinessException;
+import com.internship.entity.Payroll;
+import com.internship.entity.PayrollJob;
+import com.internship.enums.PayrollJobStatus;
 import com.internship.repository.EmployeeRepository;
+import com.internship.repository.LeaveBalanceRepository;
 import com.internship.repository.LeaveRepository;
+import com.internship.repository.PayrollJobRepository;
+import com.internship.repository.PayrollRepository;
 import com.internship.service.PayrollService;
 import jakarta.transaction.Transactional;
 import org.junit.jupiter.api.Test;
@@ -19,13 +23,13 @@ import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMock
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.context.TestPropertySource;
 
+import java.math.BigDecimal;
 import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -49,7 +53,13 @@ public class PayrollTest {
     @Autowired
     private LeaveRepository leaveRepository;
     @Autowired
+    private LeaveBalanceRepository leaveBalanceRepository;
+    @Autowired
     private PayrollService payrollService;
+    @Autowired
+    private PayrollRepository payrollRepository;
+    @Autowired
+    private PayrollJobRepository payrollJobRepository;
 
     private List<Leave> generateLeaves(LocalDate startDate, int leaveDays, Employee employee) {
         List<Leave> leaves = new ArrayList<>();
@@ -76,6 +86,7 @@ public class PayrollTest {
         leavesEmployee1.addAll(generateLeaves(START_OF_FEB, 1, employee1));
         leavesEmployee1.addAll(generateLeaves(START_OF_JAN, 20, employee1));
         leaveRepository.saveAll(leavesEmployee1);
+        leaveBalanceRepository.addLeaves(leavesEmployee1);
 
         Employee employee2 = employeeRepository.findById(EXISTENT_EMPLOYEE2_ID).get();
         final List<Leave> leavesEmployee2 = new ArrayList<>();
@@ -83,10 +94,12 @@ public class PayrollTest {
         leavesEmployee2.addAll(generateLeaves(START_OF_FEB, 5, employee2));
         leavesEmployee2.addAll(generateLeaves(START_OF_JAN, 20, employee2));
         leaveRepository.saveAll(leavesEmployee2);
+        leaveBalanceRepository.addLeaves(leavesEmployee2);
 
         Employee employee3 = employeeRepository.findById(EXISTENT_EMPLOYEE3_ID).get();
         final List<Leave> leavesEmployee3 = new ArrayList<>(generateLeaves(START_OF_JAN, 22, employee3));
         leaveRepository.saveAll(leavesEmployee3);
+        leaveBalanceRepository.addLeaves(leavesEmployee3);
 
         Employee employee4 = employeeRepository.findById(EXISTENT_EMPLOYEE4_ID).get();
         final List<Leave> leavesEmployee4 = new ArrayList<>();
@@ -94,6 +107,7 @@ public class PayrollTest {
         leavesEmployee4.addAll(generateLeaves(START_OF_FEB, 15, employee4));
         leavesEmployee4.addAll(generateLeaves(START_OF_JAN, 20, employee4));
         leaveRepository.saveAll(leavesEmployee4);
+        leaveBalanceRepository.addLeaves(leavesEmployee4);
 
         // Suppose we are at in 2020-03-01, and we generate EmployeePayroll for Feb month
         try (MockedStatic<LocalDate> mocked = Mockito.mockStatic(LocalDate.class, Mockito.CALLS_REAL_METHODS)) {
@@ -105,18 +119,49 @@ public class PayrollTest {
 
     @Test
     @DataSet(value = "dataset/employees_payroll.xml")
-    public void testDuplicationGenerateSameEmployeePayrollForSameMonthAndYear_shouldFailAndReturnConflict() {
+    public void testDuplicationGenerateSameEmployeePayrollForSameMonthAndYear_shouldSkipAlreadyGeneratedPayroll() {
         try (MockedStatic<LocalDate> mocked = Mockito.mockStatic(LocalDate.class, Mockito.CALLS_REAL_METHODS)) {
             mocked.when(LocalDate::now).thenReturn(FIXED_DATE);
             // First generation → should succeed
             payrollService.generatePayroll();
 
-            // Second generation → should throw exception
-            BusinessException exception = assertThrows(BusinessException.class, () -> payrollService.generatePayroll());
-            assertEquals(
-                    ApiError.DUPLICATE_PAYROLL_EXCEPTION.getDefaultMessage(),
-                    exception.getMessage()
-            );
+            // Second generation → should not fail nor duplicate any payroll
+            payrollService.generatePayroll();
+        }
+        assertEquals(4, payrollRepository.count());
+        PayrollJob job = payrollJobRepository.findByPayrollYearAndPayrollMonth(2020, 2).get();
+        assertEquals(PayrollJobStatus.COMPLETED, job.getStatus());
+        assertEquals(4, job.getProcessedEmployees());
+    }
+
+    @Test
+    @DataSet(value = "dataset/employees_payroll.xml")
+    public void testGeneratePayrollWhenEmployeeAlreadyHasPayroll_shouldSkipEmployeeAndGenerateTheOthers() {
+        // simulate a crashed run that committed the payroll of employee 2 only
+        Payroll existingPayroll = Payroll.builder()
+                .payrollYear(2020)
+                .payrollMonth(2)
+                .grossSalary(BigDecimal.ONE)
+                .bonus(BigDecimal.ZERO)
+                .taxAmount(BigDecimal.ZERO)
+                .insuranceDeduction(BigDecimal.ZERO)
+                .leavesDeduction(BigDecimal.ZERO)
+                .netSalary(BigDecimal.ONE)
+                .employee(employeeRepository.findById(EXISTENT_EMPLOYEE2_ID).get())
+                .build();
+        payrollRepository.save(existingPayroll);
+
+        try (MockedStatic<LocalDate> mocked = Mockito.mockStatic(LocalDate.class, Mockito.CALLS_REAL_METHODS)) {
+            mocked.when(LocalDate::now).thenReturn(FIXED_DATE);
+            payrollService.generatePayroll();
         }
+
+        List<Payroll> payrolls = payrollRepository.findAll();
+        assertEquals(4, payrolls.size());
+        Payroll employee2Payroll = payrolls.stream()
+                .filter(payroll -> payroll.getEmployee().getId().equals(EXISTENT_EMPLOYEE2_ID))
+                .findFirst().get();
+        assertEquals(existingPayroll.getId(), employee2Payroll.getId());
+        assertEquals(3, payrollJobRepository.findByPayrollYearAndPayrollMonth(2020, 2).get().getProcessedEmployees());
     }
-}
\ No newline at end of file
+}
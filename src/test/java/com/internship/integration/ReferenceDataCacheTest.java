@@ -0,0 +1,107 @@
+package com.internship.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.spring.api.DBRider;
+import com.internship.dto.CreateEmployeeRequest;
+import com.internship.enums.Degree;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+import static com.internship.enums.Gender.MALE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+@DBRider
+@TestPropertySource(properties = {
+        "spring.cache.type=caffeine",
+        "spring.cache.cache-names=departments,teams,expertises",
+        "spring.cache.caffeine.spec=maximumSize=100,recordStats",
+        "management.endpoints.web.exposure.include=prometheus"
+})
+public class ReferenceDataCacheTest {
+    private static final Long EXISTENT_DEPARTMENT1_ID = 1L;
+    private static final Long EXISTENT_TEAM1_ID = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private CreateEmployeeRequest buildCreateEmployeeRequest(String nationalId) {
+        return CreateEmployeeRequest.builder()
+                .firstName("Ahmed")
+                .lastName("Ali")
+                .nationalId(nationalId)
+                .degree(Degree.INTERMEDIATE)
+                .pastExperienceYear(3)
+                .joinedDate(LocalDate.of(2022, 12, 5))
+                .dateOfBirth(LocalDate.of(1999, 10, 5))
+                .graduationDate(LocalDate.of(2025, 6, 5))
+                .gender(MALE)
+                .grossSalary(BigDecimal.valueOf(5000))
+                .departmentId(EXISTENT_DEPARTMENT1_ID)
+                .teamId(EXISTENT_TEAM1_ID)
+                .build();
+    }
+
+    private double cacheGets(String cache, String result) {
+        return meterRegistry.get("cache.gets").tag("cache", cache).tag("result", result).functionCounter().count();
+    }
+
+    @Test
+    @DataSet("dataset/create_employee.xml")
+    public void testAddEmployeesWithTheSameDepartmentAndTeam_shouldReadThemFromTheCache() throws Exception {
+        double departmentHitsBefore = cacheGets("departments", "hit");
+        double teamHitsBefore = cacheGets("teams", "hit");
+
+        mockMvc.perform(post("/api/employees")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(buildCreateEmployeeRequest("NID-CACHE-001"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/api/employees")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(objectMapper.writeValueAsString(buildCreateEmployeeRequest("NID-CACHE-002"))))
+                .andExpect(status().isCreated());
+
+        // at least the second employee found the department and the team in the cache
+        assertThat(cacheGets("departments", "hit")).isGreaterThan(departmentHitsBefore);
+        assertThat(cacheGets("teams", "hit")).isGreaterThan(teamHitsBefore);
+    }
+
+    @Test
+    public void testPrometheusEndpoint_shouldExportTheCacheMetrics() throws Exception {
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        for (String cache : new String[]{"departments", "teams", "expertises"}) {
+            assertThat(metrics).contains("cache_gets_total{cache=\"" + cache + "\"");
+            assertThat(metrics).contains("cache_evictions_total{cache=\"" + cache + "\"");
+        }
+        // and the team members cache
+        assertEquals(4, metrics.lines().filter(line -> line.startsWith("cache_size{")).count());
+    }
+}
@@ -0,0 +1,118 @@
+package com.internship.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.spring.api.DBRider;
+import com.internship.dto.BulkSalaryAdjustmentRequest;
+import com.internship.dto.SalaryAdjustmentRequest;
+import com.internship.enums.SalaryReason;
+import com.internship.repository.BatchInsertRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Not transactional, so every chunk of the adjustment is really committed or rolled back like in production.
+@SpringBootTest
+@AutoConfigureMockMvc
+@DBRider
+@TestPropertySource(properties = {
+        "salary-adjustment.chunk-size=2"
+})
+public class SalaryAdjustmentChunkTest {
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @MockitoSpyBean
+    private BatchInsertRepository batchInsertRepository;
+
+    @AfterEach
+    public void tearDown() {
+        DatabaseCleaner.deleteAll(jdbcTemplate);
+    }
+
+    // raises employees 1 to 5 by 100 each, in 3 chunks
+    private String raiseSalaries() throws Exception {
+        BulkSalaryAdjustmentRequest request = BulkSalaryAdjustmentRequest.builder()
+                .adjustments(LongStream.rangeClosed(1, 5)
+                        .mapToObj(id -> SalaryAdjustmentRequest.builder()
+                                .employeeId(id)
+                                .amount(BigDecimal.valueOf(100))
+                                .build())
+                        .toList())
+                .build();
+        return objectMapper.writeValueAsString(request);
+    }
+
+    private List<BigDecimal> getGrossSalaries() {
+        return jdbcTemplate.queryForList("SELECT gross_salary FROM employees WHERE id <= 6 ORDER BY id",
+                BigDecimal.class);
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testAdjustSalariesInChunks_shouldApplyEveryChunk() throws Exception {
+        mockMvc.perform(post("/api/employees/salary-adjustments")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(raiseSalaries()))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.adjustedEmployees").value(5))
+                .andExpect(jsonPath("$.grossSalaryChange").value(500));
+
+        // every employee of dataset/get-employees-under-manager.xml earns 1000
+        assertThat(getGrossSalaries()).usingElementComparator(BigDecimal::compareTo).containsExactly(
+                BigDecimal.valueOf(1100), BigDecimal.valueOf(1100), BigDecimal.valueOf(1100),
+                BigDecimal.valueOf(1100), BigDecimal.valueOf(1100), BigDecimal.valueOf(1000));
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testAdjustSalariesFailingInTheSecondChunk_shouldKeepTheFirstChunkAndReportIt() throws Exception {
+        // the salary rows of the second chunk are inserted and then its transaction fails
+        AtomicInteger chunks = new AtomicInteger();
+        doAnswer(invocation -> {
+            Object inserted = invocation.callRealMethod();
+            if (chunks.incrementAndGet() == 2) {
+                throw new DataAccessResourceFailureException("connection lost");
+            }
+            return inserted;
+        }).when(batchInsertRepository).insertEmployeeSalaries(anyList());
+
+        mockMvc.perform(post("/api/employees/salary-adjustments")
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content(raiseSalaries()))
+                .andExpect(status().isConflict())
+                .andExpect(jsonPath("$.errorMessage").value("Salary adjustments were only partially applied: "
+                        + "chunk 2 failed, entries 1 to 2 were committed and entries 3 to 5 were not applied: "
+                        + "connection lost"));
+
+        assertThat(getGrossSalaries()).usingElementComparator(BigDecimal::compareTo).containsExactly(
+                BigDecimal.valueOf(1100), BigDecimal.valueOf(1100), BigDecimal.valueOf(1000),
+                BigDecimal.valueOf(1000), BigDecimal.valueOf(1000), BigDecimal.valueOf(1000));
+        assertEquals(2L, jdbcTemplate.queryForObject("SELECT COUNT(*) FROM employee_salaries WHERE reason <> ?",
+                Long.class, SalaryReason.INITIAL_BASE_SALARY.getMessage()));
+    }
+}
@@ -0,0 +1,185 @@
+package com.internship.integration;
+
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.spring.api.DBRider;
+import com.internship.config.SqlMetricsDataSource;
+import com.internship.repository.EmployeeRepository;
+import com.internship.service.DatasetGenerator;
+import com.internship.service.SqlMetrics;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.logging.LogLevel;
+import org.springframework.boot.logging.LoggingSystem;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+@DBRider
+@ExtendWith(OutputCaptureExtension.class)
+@TestPropertySource(properties = {
+        "management.endpoints.web.exposure.include=prometheus",
+        // every statement is slow, so each one is logged
+        "sql-metrics.slow-query-threshold=0ms",
+        // one manager with more direct subordinates than a stream batch
+        "dataset-generator.employees=601",
+        "dataset-generator.fan-out=600",
+        "dataset-generator.max-depth=1",
+        "dataset-generator.departments=1",
+        "dataset-generator.teams=1",
+        "dataset-generator.expertises=1",
+        "dataset-generator.expertises-per-employee=1",
+        "dataset-generator.history-years=1",
+        "dataset-generator.end-date=2024-06-30",
+        "dataset-generator.salary-changes-per-year=0",
+        "dataset-generator.leave-density=0",
+        "dataset-generator.monthly-bonus-share=0"
+})
+public class SqlMetricsTest {
+    private static final String GET_EMPLOYEE_ENDPOINT = "GET /api/employees/{id}";
+    private static final String STREAM_SUBORDINATES_ENDPOINT = "GET /api/employees/{managerId}/subordinates";
+    private static final Long EXISTENT_EMPLOYEE_B_ID = 2L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private SqlMetrics sqlMetrics;
+    @Autowired
+    private EmployeeRepository employeeRepository;
+    @Autowired
+    private DatasetGenerator datasetGenerator;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private LoggingSystem loggingSystem;
+
+    private DistributionSummary statements(String source, String endpoint) {
+        return DistributionSummary.builder(SqlMetrics.STATEMENTS_METRIC)
+                .tag("source", source)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    private Timer time(String source, String endpoint) {
+        return Timer.builder(SqlMetrics.TIME_METRIC)
+                .tag("source", source)
+                .tag("endpoint", endpoint)
+                .register(meterRegistry);
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployee_shouldRecordTheStatementsOfTheRequestByEndpoint() throws Exception {
+        long requests = statements(SqlMetrics.HTTP_SOURCE, GET_EMPLOYEE_ENDPOINT).count();
+        double statementsBefore = statements(SqlMetrics.HTTP_SOURCE, GET_EMPLOYEE_ENDPOINT).totalAmount();
+
+        mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE_B_ID))
+                .andExpect(status().isOk());
+
+        // the version and the response are read with one statement each
+        assertEquals(requests + 1, statements(SqlMetrics.HTTP_SOURCE, GET_EMPLOYEE_ENDPOINT).count());
+        assertEquals(statementsBefore + 2, statements(SqlMetrics.HTTP_SOURCE, GET_EMPLOYEE_ENDPOINT).totalAmount());
+        assertEquals(requests + 1, time(SqlMetrics.HTTP_SOURCE, GET_EMPLOYEE_ENDPOINT).count());
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        assertThat(metrics)
+                .contains("sql_statements_count{endpoint=\"" + GET_EMPLOYEE_ENDPOINT + "\",source=\"http\"}")
+                .contains("sql_time_seconds_count{endpoint=\"" + GET_EMPLOYEE_ENDPOINT + "\",source=\"http\"}");
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployee_whenStatementsAreSlow_shouldLogThemWithoutTheirBinds(CapturedOutput output)
+            throws Exception {
+        mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE_B_ID))
+                .andExpect(status().isOk());
+
+        assertThat(output.getOut())
+                .contains("Slow SQL statement took")
+                .contains("WHERE e.id = ?")
+                .doesNotContain("Binds of the slow SQL statement");
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployee_whenStatementsAreSlowAndDebugIsEnabled_shouldLogTheirBinds(CapturedOutput output)
+            throws Exception {
+        loggingSystem.setLogLevel(SqlMetricsDataSource.class.getName(), LogLevel.DEBUG);
+        try {
+            mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE_B_ID))
+                    .andExpect(status().isOk());
+        } finally {
+            loggingSystem.setLogLevel(SqlMetricsDataSource.class.getName(), null);
+        }
+
+        assertThat(output.getOut())
+                .contains("Binds of the slow SQL statement: {1=" + EXISTENT_EMPLOYEE_B_ID + "}");
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testRunJob_shouldRecordTheStatementsOfTheJobByName() {
+        sqlMetrics.runJob("count-employees", () -> employeeRepository.count());
+
+        assertEquals(1, statements(SqlMetrics.JOB_SOURCE, "count-employees").count());
+        assertEquals(1, statements(SqlMetrics.JOB_SOURCE, "count-employees").totalAmount());
+    }
+
+    @Test
+    public void testStreamDirectSubordinates_shouldRecordTheStatementsOfTheStreamedBody() throws Exception {
+        datasetGenerator.generate();
+        Long managerId = jdbcTemplate.queryForObject("SELECT id FROM employees WHERE manager_id IS NULL", Long.class);
+        // the body reads its next batches on an async thread, outside the test transaction
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            long requests = statements(SqlMetrics.HTTP_SOURCE, STREAM_SUBORDINATES_ENDPOINT).count();
+            final double statementsBefore =
+                    statements(SqlMetrics.HTTP_SOURCE, STREAM_SUBORDINATES_ENDPOINT).totalAmount();
+
+            MvcResult asyncResult = mockMvc.perform(get("/api/employees/" + managerId + "/subordinates")
+                            .accept(MediaType.APPLICATION_NDJSON))
+                    .andExpect(request().asyncStarted())
+                    .andReturn();
+            // nothing is recorded before the body is written
+            assertEquals(requests, statements(SqlMetrics.HTTP_SOURCE, STREAM_SUBORDINATES_ENDPOINT).count());
+            mockMvc.perform(asyncDispatch(asyncResult))
+                    .andExpect(status().isOk());
+
+            // the manager check and the first batch run on the request thread, the same two for the second batch
+            // run on the thread writing the body
+            assertEquals(requests + 1, statements(SqlMetrics.HTTP_SOURCE, STREAM_SUBORDINATES_ENDPOINT).count());
+            assertEquals(statementsBefore + 4,
+                    statements(SqlMetrics.HTTP_SOURCE, STREAM_SUBORDINATES_ENDPOINT).totalAmount());
+        } finally {
+            DatabaseCleaner.deleteAll(jdbcTemplate);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.internship.integration;
+
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.spring.api.DBRider;
+import jakarta.persistence.EntityManagerFactory;
+import jakarta.transaction.Transactional;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the list endpoints read their employees with one projection query, whatever the number of employees returned
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+@DBRider
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+public class StatementCountTest {
+    private static final Long EXISTENT_TEAM1_ID = 1L;
+    private static final Long EXISTENT_TEAM2_ID = 2L;
+    private static final Long EXISTENT_TEAM3_ID = 3L;
+    private static final Long EXISTENT_EMPLOYEE_A_ID = 1L;
+    private static final Long EXISTENT_EMPLOYEE_B_ID = 2L;
+    private static final Long EXISTENT_EMPLOYEE_E_ID = 5L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    public void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    private long countStatements(String url, int expectedSize) throws Exception {
+        statistics.clear();
+        mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(expectedSize));
+        return statistics.getPrepareStatementCount();
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-team.xml")
+    public void testGetEmployeesUnderTeam_shouldRunTheSameStatementsForAnyNumberOfMembers() throws Exception {
+        /*
+            -- From data set
+            1- team 1 -> Omar, Ahmed, Mostafa
+            2- team 2 -> Ali, Mohamed
+            3- team 3 ->
+        */
+        long statementsForThreeMembers = countStatements("/api/team/" + EXISTENT_TEAM1_ID + "/members", 3);
+        assertEquals(statementsForThreeMembers, countStatements("/api/team/" + EXISTENT_TEAM2_ID + "/members", 2));
+        assertEquals(statementsForThreeMembers, countStatements("/api/team/" + EXISTENT_TEAM3_ID + "/members", 0));
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployeesUnderManager_shouldRunTheSameStatementsForAnyNumberOfEmployees() throws Exception {
+        /*
+                1
+                A
+              /   \
+             2     5
+             B     E
+            / \    |
+           3   4   6
+           C   D   F
+        */
+        long statementsForFiveEmployees = countStatements(
+                "/api/employees/" + EXISTENT_EMPLOYEE_A_ID + "/hierarchy", 5);
+        assertEquals(statementsForFiveEmployees, countStatements(
+                "/api/employees/" + EXISTENT_EMPLOYEE_B_ID + "/hierarchy", 2));
+        assertEquals(statementsForFiveEmployees, countStatements(
+                "/api/employees/" + EXISTENT_EMPLOYEE_E_ID + "/hierarchy", 1));
+
+        long statementsForTwoSubordinates = countStatements(
+                "/api/employees/" + EXISTENT_EMPLOYEE_A_ID + "/subordinates", 2);
+        assertEquals(statementsForTwoSubordinates, countStatements(
+                "/api/employees/" + EXISTENT_EMPLOYEE_E_ID + "/subordinates", 1));
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-manager.xml")
+    public void testGetEmployee_shouldReadTheVersionAndTheResponseOnly() throws Exception {
+        statistics.clear();
+        mockMvc.perform(get("/api/employees/" + EXISTENT_EMPLOYEE_B_ID))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.managerId").value(EXISTENT_EMPLOYEE_A_ID));
+        assertEquals(2, statistics.getPrepareStatementCount());
+    }
+}
@@ -3,6 +3,7 @@ package com.internship.integration;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.github.database.rider.core.api.dataset.DataSet;
 import com.github.database.rider.spring.api.DBRider;
+import com.internship.controller.EmployeePageResponses;
 import com.internship.dto.EmployeeResponse;
 import com.internship.exception.ErrorCode;
 import jakarta.transaction.Transactional;
@@ -10,15 +11,21 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.util.ArrayList;
 import java.util.List;
 
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
-import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @SpringBootTest
 @AutoConfigureMockMvc
@@ -79,6 +86,87 @@ public class TeamControllerTest {
         assertTrue(employeeResponses.isEmpty());
     }
 
+    @Test
+    @DataSet("dataset/get-employees-under-team.xml")
+    public void testGetEmployeesUnderTeam_shouldReturnAnEmptyListForMembersWithoutExpertises() throws Exception {
+        // only Omar has an expertise
+        mockMvc.perform(get("/api/team/" + EXISTENT_TEAM1_ID + "/members"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].firstName").value("Omar"))
+                .andExpect(jsonPath("$[0].expertises", contains("Java")))
+                .andExpect(jsonPath("$[1].expertises").isArray())
+                .andExpect(jsonPath("$[1].expertises").isEmpty())
+                .andExpect(jsonPath("$[2].expertises").isArray())
+                .andExpect(jsonPath("$[2].expertises").isEmpty());
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-team.xml")
+    public void testGetEmployeesUnderTeamByPages_shouldReturnEachPageAfterTheCursor() throws Exception {
+        /*
+            -- From data set
+            1- team 1 -> Omar, Ahmed, Mostafa
+            2- team 2 -> Ali, Mohamed
+            3- team 3 ->
+        */
+        MvcResult result = mockMvc.perform(get("/api/team/" + EXISTENT_TEAM1_ID + "/members")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(EmployeePageResponses.NEXT_CURSOR_HEADER, "2"))
+                .andReturn();
+        List<EmployeeResponse> employeeResponses = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        assertEquals(List.of("Omar", "Ahmed"), employeeResponses.stream().map(EmployeeResponse::getFirstName).toList());
+
+        result = mockMvc.perform(get("/api/team/" + EXISTENT_TEAM1_ID + "/members")
+                        .param("after", "2")
+                        .param("limit", "2"))
+                .andExpect(status().isOk())
+                .andExpect(header().doesNotExist(EmployeePageResponses.NEXT_CURSOR_HEADER))
+                .andReturn();
+        employeeResponses = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        assertEquals(List.of("Mostafa"), employeeResponses.stream().map(EmployeeResponse::getFirstName).toList());
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-team.xml")
+    public void testGetEmployeesUnderTeamWithCurrentETag_shouldReturnNotModified() throws Exception {
+        String etag = mockMvc.perform(get("/api/team/" + EXISTENT_TEAM1_ID + "/members"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/api/team/" + EXISTENT_TEAM1_ID + "/members")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        // another page has other employees and so another ETag
+        mockMvc.perform(get("/api/team/" + EXISTENT_TEAM1_ID + "/members")
+                        .param("limit", "2")
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, not(etag)));
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-team.xml")
+    public void testStreamEmployeesUnderTeam_shouldWriteOneEmployeePerLine() throws Exception {
+        MvcResult asyncResult = mockMvc.perform(get("/api/team/" + EXISTENT_TEAM1_ID + "/members")
+                        .accept(MediaType.APPLICATION_NDJSON))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        MvcResult result = mockMvc.perform(asyncDispatch(asyncResult))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<String> actualEmployeeNames = new ArrayList<>();
+        for (String line : result.getResponse().getContentAsString().split("\n")) {
+            actualEmployeeNames.add(objectMapper.readValue(line, EmployeeResponse.class).getFirstName());
+        }
+        assertEquals(List.of("Omar", "Ahmed", "Mostafa"), actualEmployeeNames);
+    }
+
     @Test
     @DataSet("dataset/get-employees-under-team.xml")
     public void testGetEmployeesUnderNotFoundTeam_shouldFailAndReturnNotFound() throws Exception {
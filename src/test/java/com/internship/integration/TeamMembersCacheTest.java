@@ -0,0 +1,135 @@
+package com.internship.integration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.database.rider.core.api.dataset.DataSet;
+import com.github.database.rider.spring.api.DBRider;
+import com.internship.dto.EmployeeResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.transaction.Transactional;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.observability.AutoConfigureObservability;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.transaction.TestTransaction;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+import java.util.Objects;
+
+import static com.internship.config.CacheConfig.TEAM_MEMBERS_CACHE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureObservability
+@Transactional
+@DBRider
+@TestPropertySource(properties = {
+        "spring.cache.type=caffeine",
+        "spring.cache.cache-names=departments,teams,expertises",
+        "spring.cache.caffeine.spec=maximumSize=100,recordStats",
+        "management.endpoints.web.exposure.include=prometheus"
+})
+public class TeamMembersCacheTest {
+    private static final Long EXISTENT_TEAM1_ID = 1L;
+    private static final Long EXISTENT_EMPLOYEE1_ID = 1L;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private CacheManager cacheManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    public void clearCache() {
+        // the datasets replace the employees between tests
+        Objects.requireNonNull(cacheManager.getCache(TEAM_MEMBERS_CACHE)).clear();
+    }
+
+    private List<String> getEmployeeNames(String url) throws Exception {
+        MvcResult result = mockMvc.perform(get(url))
+                .andExpect(status().isOk())
+                .andReturn();
+        List<EmployeeResponse> response = objectMapper.readValue(result.getResponse().getContentAsString(),
+                objectMapper.getTypeFactory().constructCollectionType(List.class, EmployeeResponse.class));
+        return response.stream().map(EmployeeResponse::getFirstName).toList();
+    }
+
+    private double cacheGets(String result) {
+        return meterRegistry.get("cache.gets").tag("cache", TEAM_MEMBERS_CACHE).tag("result", result)
+                .functionCounter().count();
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-team.xml")
+    public void testGetEmployeesUnderTeamByPages_shouldLoadTheMembersOnce() throws Exception {
+        /*
+            -- From data set
+            1- team 1 -> Omar, Ahmed, Mostafa
+        */
+        final double missesBefore = cacheGets("miss");
+        final double hitsBefore = cacheGets("hit");
+
+        assertEquals(List.of("Omar", "Ahmed"),
+                getEmployeeNames("/api/team/" + EXISTENT_TEAM1_ID + "/members?limit=2"));
+        assertEquals(List.of("Mostafa"),
+                getEmployeeNames("/api/team/" + EXISTENT_TEAM1_ID + "/members?after=2&limit=2"));
+
+        // the second page is cut from the members loaded for the first one
+        assertEquals(missesBefore + 1, cacheGets("miss"));
+        assertEquals(hitsBefore + 1, cacheGets("hit"));
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-team.xml")
+    public void testGetEmployeesUnderTeamAfterUpdatingMember_shouldReturnTheUpdatedMember() throws Exception {
+        assertEquals(List.of("Omar", "Ahmed", "Mostafa"),
+                getEmployeeNames("/api/team/" + EXISTENT_TEAM1_ID + "/members"));
+
+        mockMvc.perform(patch("/api/employees/" + EXISTENT_EMPLOYEE1_ID)
+                        .contentType(String.valueOf(MediaType.APPLICATION_JSON))
+                        .content("{\"firstName\": \"Omer\"}"))
+                .andExpect(status().isOk());
+        // the team is evicted once the change is committed
+        TestTransaction.flagForCommit();
+        TestTransaction.end();
+        try {
+            assertEquals(List.of("Omer", "Ahmed", "Mostafa"),
+                    getEmployeeNames("/api/team/" + EXISTENT_TEAM1_ID + "/members"));
+        } finally {
+            DatabaseCleaner.deleteAll(jdbcTemplate);
+        }
+    }
+
+    @Test
+    @DataSet("dataset/get-employees-under-team.xml")
+    public void testPrometheusEndpoint_shouldExportTheTeamMembersCacheMetrics() throws Exception {
+        getEmployeeNames("/api/team/" + EXISTENT_TEAM1_ID + "/members");
+
+        String metrics = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn()
+                .getResponse()
+                .getContentAsString();
+
+        // the hit ratio is computed from the gets, the load latency comes from the load timer
+        assertThat(metrics).contains("cache_gets_total{cache=\"" + TEAM_MEMBERS_CACHE + "\"");
+        assertThat(metrics).contains("team_members_cache_load_seconds_count 1");
+    }
+}
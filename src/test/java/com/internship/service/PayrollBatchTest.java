@@ -0,0 +1,58 @@
+package com.internship.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class PayrollBatchTest {
+    private static final BigDecimal TAX_RATIO = BigDecimal.valueOf(0.15);
+    private static final BigDecimal TAX_REMINDER = BigDecimal.valueOf(0.85);
+    private static final BigDecimal INSURANCE_AMOUNT = BigDecimal.valueOf(500);
+    private static final int EMPLOYEES = 100_000;
+
+    @Test
+    public void testCalculate_shouldGiveTheSameAmountsAndScalesAsTheBigDecimalArithmetic() {
+        Random random = new Random(42);
+        BigDecimal[] grossSalaries = new BigDecimal[EMPLOYEES];
+        BigDecimal[] bonuses = new BigDecimal[EMPLOYEES];
+        int[] leaveDays = new int[EMPLOYEES];
+        PayrollBatch batch = new PayrollBatch(EMPLOYEES);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            // small salaries hit every remainder of the division by the working days, large ones the upper range
+            long grossCents = i % 2 == 0 ? random.nextLong(1, 100_000) : random.nextLong(1, 1_000_000_000_000_000L);
+            grossSalaries[i] = BigDecimal.valueOf(grossCents, 2);
+            bonuses[i] = i % 3 == 0 ? BigDecimal.ZERO : BigDecimal.valueOf(random.nextLong(0, 100_000_000), 2);
+            leaveDays[i] = random.nextInt(0, 31);
+            batch.add(grossSalaries[i], bonuses[i], leaveDays[i]);
+        }
+        batch.calculate();
+
+        for (int i = 0; i < EMPLOYEES; i++) {
+            BigDecimal taxAmount = grossSalaries[i].multiply(TAX_RATIO);
+            BigDecimal leavesDeduction = grossSalaries[i]
+                    .divide(BigDecimal.valueOf(PayrollCalculator.WORKING_DAY_IN_MONTH), 10, RoundingMode.HALF_UP)
+                    .multiply(BigDecimal.valueOf(leaveDays[i]))
+                    .setScale(2, RoundingMode.HALF_UP);
+            BigDecimal netSalary = grossSalaries[i]
+                    .subtract(taxAmount.add(INSURANCE_AMOUNT).add(leavesDeduction))
+                    .add(bonuses[i]);
+            assertEquals(taxAmount, batch.getTaxAmount(i));
+            assertEquals(leavesDeduction, batch.getLeavesDeduction(i));
+            assertEquals(netSalary, batch.getNetSalary(i));
+        }
+    }
+
+    @Test
+    public void testNetSalaryWithoutLeaves_shouldGiveTheSameAmountAndScaleAsTheBigDecimalArithmetic() {
+        Random random = new Random(7);
+        for (int i = 0; i < EMPLOYEES; i++) {
+            BigDecimal grossSalary = BigDecimal.valueOf(random.nextLong(0, 1_000_000_000_000_000L), 2);
+            assertEquals(grossSalary.multiply(TAX_REMINDER).subtract(INSURANCE_AMOUNT),
+                    PayrollBatch.netSalaryWithoutLeaves(grossSalary));
+        }
+    }
+}